@@ -0,0 +1,32 @@
+package com.ronbodnar.auth.reactive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.ronbodnar.auth.reactive.user.User;
+import com.ronbodnar.auth.reactive.user.UserRepository;
+
+@SpringBootApplication
+@EnableScheduling
+public class ReactiveAuthenticationApplication {
+
+	private static final Logger logger = LoggerFactory.getLogger(ReactiveAuthenticationApplication.class);
+
+	public static void main(String[] args) {
+		SpringApplication.run(ReactiveAuthenticationApplication.class, args);
+	}
+
+	@Bean
+	CommandLineRunner init(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+		return args -> {
+			User user = userRepository.save(new User("test@mail.com", passwordEncoder.encode("test"))).block();
+			logger.info("Added user: {}", user.getEmail());
+		};
+	}
+}
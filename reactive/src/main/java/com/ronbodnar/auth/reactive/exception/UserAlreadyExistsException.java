@@ -0,0 +1,17 @@
+package com.ronbodnar.auth.reactive.exception;
+
+/**
+ * Exception thrown when a user already exists in the system.
+ */
+public class UserAlreadyExistsException extends RuntimeException {
+
+    /**
+     * Constructs a new UserAlreadyExistsException with the specified detail
+     * message.
+     *
+     * @param message the detail message
+     */
+    public UserAlreadyExistsException(String message) {
+        super(message);
+    }
+}
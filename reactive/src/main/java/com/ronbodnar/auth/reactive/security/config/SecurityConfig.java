@@ -0,0 +1,73 @@
+package com.ronbodnar.auth.reactive.security.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import com.ronbodnar.auth.reactive.security.filter.JwtAuthenticationWebFilter;
+import com.ronbodnar.auth.reactive.security.handler.AccessDeniedResponseHandler;
+import com.ronbodnar.auth.reactive.security.handler.UnauthorizedAccessEntryPoint;
+import com.ronbodnar.auth.reactive.security.service.JwtService;
+import com.ronbodnar.auth.reactive.security.service.R2dbcUserDetailsService;
+
+/**
+ * Security configuration for the reactive User Authentication application.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class SecurityConfig {
+
+    /**
+     * Configures the security filter chain for reactive HTTP requests.
+     * The JWT filter is created here rather than exposed as a bean, so WebFlux
+     * does not also register it outside the security chain.
+     *
+     * @param http                         the ServerHttpSecurity used to
+     *                                     configure web-based security
+     * @param jwtService                   the service responsible for JWT
+     *                                     operations
+     * @param userDetailsService           the service to load user-specific data
+     * @param unauthorizedAccessEntryPoint the entry point for unauthorized access
+     * @param accessDeniedResponseHandler  the handler for access denied responses
+     * @param publicPaths                  the path patterns that bypass
+     *                                     authentication entirely
+     * @return the configured SecurityWebFilterChain
+     */
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtService jwtService,
+            R2dbcUserDetailsService userDetailsService,
+            UnauthorizedAccessEntryPoint unauthorizedAccessEntryPoint,
+            AccessDeniedResponseHandler accessDeniedResponseHandler,
+            @Value("${com.ronbodnar.auth.security.public-paths:/favicon.ico}") String[] publicPaths) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedAccessEntryPoint)
+                        .accessDeniedHandler(accessDeniedResponseHandler))
+                .authorizeExchange(authorize -> authorize
+                        .pathMatchers(publicPaths).permitAll()
+                        .anyExchange().authenticated())
+                .addFilterAt(new JwtAuthenticationWebFilter(jwtService, userDetailsService),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    /**
+     * Configures the BCryptPasswordEncoder bean for password encryption.
+     *
+     * @return the configured PasswordEncoder
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return new BCryptPasswordEncoder();
+    }
+}
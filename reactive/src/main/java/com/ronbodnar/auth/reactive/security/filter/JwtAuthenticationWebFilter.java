@@ -0,0 +1,67 @@
+package com.ronbodnar.auth.reactive.security.filter;
+
+import java.util.Optional;
+
+import org.springframework.http.HttpCookie;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.ronbodnar.auth.reactive.security.model.JwtClaims;
+import com.ronbodnar.auth.reactive.security.service.JwtService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * A web filter that processes JWT authentication for incoming requests.
+ * This filter extracts the JWT from the {@code auth} cookie, verifies it,
+ * loads the user reactively and sets the authentication in the reactive
+ * security context. Invalid tokens leave the request unauthenticated.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private static final String COOKIE_NAME = "auth";
+
+    private final JwtService jwtService;
+    private final ReactiveUserDetailsService userDetailsService;
+
+    /**
+     * Constructs a new JwtAuthenticationWebFilter.
+     *
+     * @param jwtService         the service responsible for JWT operations
+     * @param userDetailsService the service to load user-specific data
+     */
+    public JwtAuthenticationWebFilter(JwtService jwtService, ReactiveUserDetailsService userDetailsService) {
+        this.jwtService = jwtService;
+        this.userDetailsService = userDetailsService;
+    }
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        HttpCookie cookie = exchange.getRequest().getCookies().getFirst(COOKIE_NAME);
+        JwtClaims claims = (cookie != null) ? jwtService.verify(cookie.getValue()) : null;
+        if (claims == null) {
+            return chain.filter(exchange);
+        }
+
+        return userDetailsService.findByUsername(claims.subject())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorReturn(Optional.empty())
+                .flatMap(user -> user
+                        .map(userDetails -> chain.filter(exchange)
+                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(
+                                        authenticated(userDetails))))
+                        .orElseGet(() -> chain.filter(exchange)));
+    }
+
+    private static UsernamePasswordAuthenticationToken authenticated(UserDetails userDetails) {
+        return UsernamePasswordAuthenticationToken.authenticated(userDetails, null, userDetails.getAuthorities());
+    }
+}
@@ -0,0 +1,24 @@
+package com.ronbodnar.auth.reactive.security.handler;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.web.server.authorization.ServerAccessDeniedHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * A reactive handler for access denied exceptions, writing the same JSON
+ * error body as the servlet stack.
+ */
+@Component
+public class AccessDeniedResponseHandler implements ServerAccessDeniedHandler {
+
+    private final JsonErrorBody body = new JsonErrorBody(HttpStatus.UNAUTHORIZED);
+
+    @Override
+    public Mono<Void> handle(ServerWebExchange exchange, AccessDeniedException accessDeniedException) {
+        return body.write(exchange.getResponse(), accessDeniedException.getMessage());
+    }
+}
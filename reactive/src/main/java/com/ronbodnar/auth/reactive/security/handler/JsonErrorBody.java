@@ -0,0 +1,62 @@
+package com.ronbodnar.auth.reactive.security.handler;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Writes the JSON error body shared with the servlet stack,
+ * {@code {"status":<status>,"payload":<message>}}, without an object mapper.
+ */
+final class JsonErrorBody {
+
+    private final HttpStatus status;
+    private final byte[] prefix;
+
+    /**
+     * Constructs a new JsonErrorBody for the given status.
+     *
+     * @param status the HTTP status written in the response and the body
+     */
+    JsonErrorBody(HttpStatus status) {
+        this.status = status;
+        this.prefix = ("{\"status\":" + status.value() + ",\"payload\":").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sets the status and content type of the response and writes the body.
+     *
+     * @param response the response to write to
+     * @param message  the message to include as the payload, may be null
+     * @return a Mono completing when the body has been written
+     */
+    Mono<Void> write(ServerHttpResponse response, String message) {
+        byte[] payload = (message != null)
+                ? quote(message)
+                : "null".getBytes(StandardCharsets.UTF_8);
+        byte[] body = new byte[prefix.length + payload.length + 1];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(payload, 0, body, prefix.length, payload.length);
+        body[body.length - 1] = '}';
+
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static byte[] quote(String message) {
+        byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(message);
+        byte[] quoted = new byte[escaped.length + 2];
+        quoted[0] = '"';
+        System.arraycopy(escaped, 0, quoted, 1, escaped.length);
+        quoted[quoted.length - 1] = '"';
+        return quoted;
+    }
+}
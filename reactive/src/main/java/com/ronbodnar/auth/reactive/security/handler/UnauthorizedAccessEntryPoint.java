@@ -0,0 +1,24 @@
+package com.ronbodnar.auth.reactive.security.handler;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.server.ServerAuthenticationEntryPoint;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * A reactive entry point for handling unauthorized access attempts, writing
+ * the same JSON error body as the servlet stack.
+ */
+@Component
+public class UnauthorizedAccessEntryPoint implements ServerAuthenticationEntryPoint {
+
+    private final JsonErrorBody body = new JsonErrorBody(HttpStatus.UNAUTHORIZED);
+
+    @Override
+    public Mono<Void> commence(ServerWebExchange exchange, AuthenticationException authException) {
+        return body.write(exchange.getResponse(), authException.getMessage());
+    }
+}
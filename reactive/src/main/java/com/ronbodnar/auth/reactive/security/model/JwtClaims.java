@@ -0,0 +1,22 @@
+package com.ronbodnar.auth.reactive.security.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The verified contents of a JSON Web Token.
+ *
+ * @param subject   the username the token was issued to
+ * @param issuedAt  the time the token was issued
+ * @param expiresAt the time the token expires
+ * @param roles     the role names granted to the subject
+ */
+public record JwtClaims(String subject, Instant issuedAt, Instant expiresAt, List<String> roles) {
+
+    /**
+     * Constructs a new JwtClaims, defensively copying the roles.
+     */
+    public JwtClaims {
+        roles = (roles != null) ? List.copyOf(roles) : List.of();
+    }
+}
@@ -0,0 +1,71 @@
+package com.ronbodnar.auth.reactive.security.model;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Getter;
+
+/**
+ * Represents the authenticated user in the security context.
+ * Implements Spring Security's UserDetails interface.
+ */
+@Getter
+public class UserPrincipal implements UserDetails {
+
+    private final int id;
+    private final String username;
+    private final String email;
+
+    @JsonIgnore
+    private final String password;
+
+    private final List<GrantedAuthority> authorities;
+
+    /**
+     * Constructs a new UserPrincipal with the specified details.
+     *
+     * @param id          the unique identifier of the user
+     * @param username    the username of the user
+     * @param email       the email address of the user
+     * @param password    the password of the user
+     * @param authorities the authorities granted to the user
+     */
+    public UserPrincipal(int id, String username, String email, String password,
+            List<GrantedAuthority> authorities) {
+        this.id = id;
+        this.username = username;
+        this.email = email;
+        this.password = password;
+        this.authorities = List.copyOf(authorities);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,157 @@
+package com.ronbodnar.auth.reactive.security.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.ronbodnar.auth.reactive.security.model.JwtClaims;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+
+/**
+ * Service for verifying the JSON Web Tokens issued by the authentication
+ * service. Tokens are checked against the same algorithm, keys and key ids
+ * as the servlet stack: the HS256 secret, or the public keys of the shared
+ * keystore for ES256 and RS256. Verification is CPU-only, so it is safe to
+ * call on the event loop.
+ */
+@Component
+public class JwtService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
+    private static final String ROLES_CLAIM = "roles";
+
+    private final SignatureAlgorithm algorithm;
+    private final String secret;
+    private final String keyStoreLocation;
+    private final String keyStorePassword;
+
+    private volatile JwtParser parser;
+
+    /**
+     * Constructs a new JwtService, building the keys and parser once.
+     *
+     * @param algorithm        the algorithm tokens are signed with
+     * @param secret           the base64-encoded HS256 signing secret
+     * @param keyStoreLocation the location of the shared PKCS12 keystore, used
+     *                         with ES256 and RS256
+     * @param keyStorePassword the password of the keystore
+     */
+    public JwtService(@Value("${com.ronbodnar.auth.security.jwt.algorithm:HS256}") String algorithm,
+            @Value("${com.ronbodnar.auth.security.jwt.secret:}") String secret,
+            @Value("${com.ronbodnar.auth.security.jwt.key-store:}") String keyStoreLocation,
+            @Value("${com.ronbodnar.auth.security.jwt.key-store-password:}") String keyStorePassword) {
+        this.algorithm = SignatureAlgorithm.forName(algorithm);
+        this.secret = secret;
+        this.keyStoreLocation = keyStoreLocation;
+        this.keyStorePassword = keyStorePassword;
+
+        if (this.algorithm.isHmac() && this.algorithm != SignatureAlgorithm.HS256) {
+            throw new IllegalArgumentException("Unsupported JWT algorithm: " + algorithm);
+        }
+        this.parser = parserFor(loadKeys());
+    }
+
+    /**
+     * Verifies the signature of the given JWT and returns its claims.
+     *
+     * @param token the JWT to verify
+     * @return the verified claims, or null if the token is invalid
+     */
+    public JwtClaims verify(String token) {
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+
+            List<String> roles = List.of();
+            if (claims.get(ROLES_CLAIM) instanceof Collection<?> values) {
+                roles = new ArrayList<>(values.size());
+                for (Object value : values) {
+                    roles.add(String.valueOf(value));
+                }
+            }
+            return new JwtClaims(claims.getSubject(), toInstant(claims.getIssuedAt()),
+                    toInstant(claims.getExpiration()), roles);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("JWT validation error: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Reloads the public keys of asymmetric algorithms from the keystore, so
+     * that keys added or removed there by the servlet service are picked up
+     * without a restart. A keystore that cannot be read leaves the current
+     * keys in place. HS256 keys are not reloaded.
+     */
+    @Scheduled(fixedDelayString = "${com.ronbodnar.auth.security.jwt.key-reload-interval:PT5M}",
+            initialDelayString = "${com.ronbodnar.auth.security.jwt.key-reload-interval:PT5M}")
+    public void reloadKeys() {
+        if (algorithm.isHmac()) {
+            return;
+        }
+
+        try {
+            this.parser = parserFor(loadKeys());
+        } catch (RuntimeException e) {
+            logger.warn("Could not reload the JWT keystore, keeping the current keys", e);
+        }
+    }
+
+    private VerificationKeys loadKeys() {
+        if (algorithm.isHmac()) {
+            if (secret.isBlank()) {
+                throw new IllegalStateException("HS256 requires com.ronbodnar.auth.security.jwt.secret");
+            }
+            return VerificationKeys.ofSecret(secret);
+        }
+
+        if (keyStoreLocation.isBlank()) {
+            throw new IllegalStateException(
+                    algorithm.getValue() + " requires com.ronbodnar.auth.security.jwt.key-store");
+        }
+        Resource resource = new DefaultResourceLoader().getResource(keyStoreLocation);
+        try (InputStream in = resource.getInputStream()) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, keyStorePassword.toCharArray());
+            return VerificationKeys.fromKeyStore(keyStore, algorithm);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Could not load the JWT keystore from " + keyStoreLocation, e);
+        }
+    }
+
+    private static JwtParser parserFor(VerificationKeys keys) {
+        return Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return keys.resolve(header.getKeyId(), header.getAlgorithm());
+                    }
+                })
+                .build();
+    }
+
+    private static Instant toInstant(Date date) {
+        return (date != null) ? date.toInstant() : null;
+    }
+}
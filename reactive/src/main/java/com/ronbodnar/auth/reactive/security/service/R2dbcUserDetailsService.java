@@ -0,0 +1,82 @@
+package com.ronbodnar.auth.reactive.security.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import com.ronbodnar.auth.reactive.security.model.UserPrincipal;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementation of ReactiveUserDetailsService that retrieves user details
+ * through R2DBC. The user and its role names are read with a single query.
+ */
+@Service
+public class R2dbcUserDetailsService implements ReactiveUserDetailsService {
+
+    private static final String PRINCIPAL_QUERY = """
+            SELECT u.id, u.username, u.email, u.password, r.name AS role_name
+            FROM users u
+            LEFT JOIN user_roles ur ON ur.user_id = u.id
+            LEFT JOIN roles r ON r.id = ur.role_id
+            WHERE u.username = :username
+            """;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Constructs a new R2dbcUserDetailsService.
+     *
+     * @param databaseClient the client used to query the user store
+     */
+    public R2dbcUserDetailsService(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Finds a user by username.
+     *
+     * @param username the username of the user to load
+     * @return a Mono emitting the user details, or empty if no user found
+     */
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return databaseClient.sql(PRINCIPAL_QUERY)
+                .bind("username", username)
+                .map((row, metadata) -> new PrincipalRow(
+                        row.get("id", Integer.class),
+                        row.get("username", String.class),
+                        row.get("email", String.class),
+                        row.get("password", String.class),
+                        row.get("role_name", String.class)))
+                .all()
+                .collectList()
+                .filter(rows -> !rows.isEmpty())
+                .map(R2dbcUserDetailsService::toPrincipal);
+    }
+
+    private static UserDetails toPrincipal(List<PrincipalRow> rows) {
+        List<GrantedAuthority> authorities = new ArrayList<>(rows.size());
+        for (PrincipalRow row : rows) {
+            if (row.roleName() != null) {
+                authorities.add(new SimpleGrantedAuthority(row.roleName()));
+            }
+        }
+
+        PrincipalRow first = rows.get(0);
+        return new UserPrincipal(first.id(), first.username(), first.email(), first.password(), authorities);
+    }
+
+    /**
+     * A row of the principal query, one per role of the user.
+     */
+    private record PrincipalRow(int id, String username, String email, String password, String roleName) {
+    }
+}
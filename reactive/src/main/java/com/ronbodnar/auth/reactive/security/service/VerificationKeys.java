@@ -0,0 +1,139 @@
+package com.ronbodnar.auth.reactive.security.service;
+
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * An immutable set of JWT verification keys, each identified by the
+ * {@code kid} the servlet service signs with. HS256 uses the shared secret;
+ * ES256 and RS256 use the public keys of the keystore the servlet service
+ * signs from, so both stacks agree on every key id.
+ */
+final class VerificationKeys {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final SignatureAlgorithm algorithm;
+    private final Map<String, Key> keysById;
+
+    private VerificationKeys(SignatureAlgorithm algorithm, Map<String, Key> keysById) {
+        this.algorithm = algorithm;
+        this.keysById = Map.copyOf(keysById);
+    }
+
+    /**
+     * Creates the key derived from a shared HS256 secret. The key id is
+     * derived from the secret the same way the servlet service derives it.
+     *
+     * @param secret the base64-encoded secret
+     * @return the keys
+     */
+    static VerificationKeys ofSecret(String secret) {
+        byte[] bytes = Decoders.BASE64.decode(secret);
+        String id = BASE64_URL.encodeToString(Arrays.copyOf(sha256(bytes), 8));
+        return new VerificationKeys(SignatureAlgorithm.HS256, Map.of(id, Keys.hmacShaKeyFor(bytes)));
+    }
+
+    /**
+     * Creates the keys from the certificates of a keystore's key entries.
+     * Each entry that fits the algorithm becomes a key whose kid is its alias.
+     *
+     * @param keyStore  the loaded keystore
+     * @param algorithm the asymmetric algorithm, such as ES256 or RS256
+     * @return the keys
+     * @throws IllegalArgumentException if the algorithm is not asymmetric
+     * @throws IllegalStateException    if no entry fits the algorithm
+     */
+    static VerificationKeys fromKeyStore(KeyStore keyStore, SignatureAlgorithm algorithm) {
+        if (algorithm.isHmac() || algorithm == SignatureAlgorithm.NONE) {
+            throw new IllegalArgumentException("Not an asymmetric algorithm: " + algorithm);
+        }
+
+        try {
+            Map<String, Key> keys = new HashMap<>();
+            for (String alias : Collections.list(keyStore.aliases())) {
+                Certificate certificate = keyStore.isKeyEntry(alias) ? keyStore.getCertificate(alias) : null;
+                if (certificate != null && fits(algorithm, certificate.getPublicKey())) {
+                    keys.put(alias, certificate.getPublicKey());
+                }
+            }
+
+            if (keys.isEmpty()) {
+                throw new IllegalStateException("No " + algorithm.getValue() + " key entry in the JWT keystore");
+            }
+            return new VerificationKeys(algorithm, keys);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not read the JWT keystore", e);
+        }
+    }
+
+    /**
+     * Retrieves the algorithm of the keys.
+     *
+     * @return the signature algorithm
+     */
+    SignatureAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Looks up the key that verifies a token with the given header values.
+     *
+     * @param keyId     the kid header of the token
+     * @param algorithm the alg header of the token
+     * @return the verification key
+     * @throws JwtException if no key with that id exists for that algorithm
+     */
+    Key resolve(String keyId, String algorithm) {
+        Key key = (keyId != null) ? keysById.get(keyId) : null;
+        if (key == null || !this.algorithm.getValue().equals(algorithm)) {
+            throw new JwtException("Unknown signing key: " + keyId);
+        }
+        return key;
+    }
+
+    /**
+     * Checks whether the public key can verify signatures of the algorithm,
+     * including the curve size for ECDSA.
+     */
+    private static boolean fits(SignatureAlgorithm algorithm, PublicKey publicKey) {
+        if (algorithm.isRsa()) {
+            return publicKey instanceof RSAPublicKey;
+        }
+        if (algorithm.isEllipticCurve() && publicKey instanceof ECKey ec) {
+            int fieldSize = ec.getParams().getCurve().getField().getFieldSize();
+            return switch (algorithm) {
+                case ES256 -> fieldSize == 256;
+                case ES384 -> fieldSize == 384;
+                case ES512 -> fieldSize == 521;
+                default -> false;
+            };
+        }
+        return false;
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.ronbodnar.auth.reactive.user;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Represents a user in the system.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Table("users")
+public class User {
+
+    @Id
+    private Integer id;
+
+    private String email;
+
+    private String username;
+
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private String password;
+
+    /**
+     * Constructs a new User with the specified email and password.
+     * The username is set to be the same as the email.
+     *
+     * @param email    the email address of the user
+     * @param password the password for the user
+     */
+    public User(String email, String password) {
+        this.email = email;
+        this.username = email;
+        this.password = password;
+    }
+
+    @Override
+    public String toString() {
+        return "User(id=" + id + ", email=" + email + ")";
+    }
+}
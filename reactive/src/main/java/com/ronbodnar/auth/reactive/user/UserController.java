@@ -0,0 +1,69 @@
+package com.ronbodnar.auth.reactive.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.ronbodnar.auth.reactive.payload.PageResponse;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive REST controller for managing users.
+ */
+@RestController
+@RequestMapping("/users")
+public class UserController {
+
+    private final UserService userService;
+    private final UserRepository userRepository;
+    private final int maxPageSize;
+
+    public UserController(UserService userService, UserRepository userRepository,
+            @Value("${com.ronbodnar.auth.users.max-page-size:500}") int maxPageSize) {
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Retrieves a page of users, ordered by ID.
+     *
+     * @param after The ID of the last user of the previous page, or 0 for the
+     *              first page.
+     * @param limit The maximum number of users to return, capped at the
+     *              configured maximum page size.
+     * @return a Mono emitting the page of users and the next cursor.
+     */
+    @GetMapping("")
+    public Mono<PageResponse<User>> getUsers(@RequestParam(defaultValue = "0") int after,
+            @RequestParam(defaultValue = "50") int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), maxPageSize);
+        return userService.getUsers(after, pageSize);
+    }
+
+    /**
+     * Adds a new user.
+     *
+     * @param user The user to be added.
+     * @return a Mono emitting the outcome of the operation.
+     */
+    @PostMapping("")
+    public Mono<ResponseEntity<User>> addUser(@RequestBody User user) {
+        return userService.addUser(user);
+    }
+
+    /**
+     * Retrieves a user by their ID.
+     *
+     * @param id The ID of the user to retrieve.
+     * @return a Mono emitting the user or a 404 response.
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<User>> getUserById(@PathVariable int id) {
+        return userRepository.findById(id)
+                .map(ResponseEntity::ok) // Return user if found
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build()); // 404 if not found
+    }
+}
@@ -0,0 +1,34 @@
+package com.ronbodnar.auth.reactive.user;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive repository interface for managing User entities.
+ */
+@Repository
+public interface UserRepository extends ReactiveCrudRepository<User, Integer> {
+
+    /**
+     * Checks if a user exists by their email.
+     *
+     * @param email the email to check
+     * @return a Mono emitting true if a user with the given email exists
+     */
+    Mono<Boolean> existsByEmail(String email);
+
+    /**
+     * Retrieves the users whose id is greater than the given one, for keyset
+     * pagination, so the cost of a page does not grow with its position.
+     *
+     * @param id    the id after which to start
+     * @param limit the maximum number of users to return
+     * @return a Flux emitting the users with a greater id, in ascending id
+     *         order
+     */
+    Flux<User> findByIdGreaterThanOrderByIdAsc(int id, Limit limit);
+}
@@ -0,0 +1,72 @@
+package com.ronbodnar.auth.reactive.user;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.ronbodnar.auth.reactive.exception.UserAlreadyExistsException;
+import com.ronbodnar.auth.reactive.payload.PageResponse;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+@Service
+public class UserService {
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+    }
+
+    /**
+     * Retrieves a page of users ordered by id, starting after the given id.
+     * One extra row is read to tell whether another page follows.
+     *
+     * @param after the id of the last user of the previous page, or 0
+     * @param limit the maximum number of users in the page
+     * @return a Mono emitting the page and the cursor of the next page
+     */
+    public Mono<PageResponse<User>> getUsers(int after, int limit) {
+        return userRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1))
+                .collectList()
+                .map(users -> {
+                    if (users.size() <= limit) {
+                        return new PageResponse<>(users, null);
+                    }
+
+                    List<User> page = users.subList(0, limit);
+                    return new PageResponse<>(page, page.get(limit - 1).getId());
+                });
+    }
+
+    /**
+     * Adds a new user to the system. The password is hashed off the event loop.
+     *
+     * @param user the user to be added
+     * @return a Mono emitting the saved user, or an error if the email is taken
+     */
+    public Mono<ResponseEntity<User>> addUser(User user) {
+        return userRepository.existsByEmail(user.getEmail())
+                .flatMap(exists -> {
+                    if (exists) {
+                        return Mono.<String>error(
+                                new UserAlreadyExistsException("User already exists with email: " + user.getEmail()));
+                    }
+                    return Mono.fromCallable(() -> passwordEncoder.encode(user.getPassword()))
+                            .subscribeOn(Schedulers.boundedElastic());
+                })
+                .flatMap(encoded -> {
+                    user.setId(null);
+                    user.setPassword(encoded);
+                    return userRepository.save(user);
+                })
+                .map(savedUser -> ResponseEntity.status(HttpStatus.CREATED).body(savedUser));
+    }
+}
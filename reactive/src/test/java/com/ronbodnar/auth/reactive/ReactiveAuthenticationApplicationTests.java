@@ -0,0 +1,13 @@
+package com.ronbodnar.auth.reactive;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class ReactiveAuthenticationApplicationTests {
+
+	@Test
+	void contextLoads() {
+	}
+
+}
@@ -0,0 +1,144 @@
+package com.ronbodnar.auth.reactive.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import com.ronbodnar.auth.reactive.security.service.R2dbcUserDetailsService;
+import com.ronbodnar.auth.reactive.user.User;
+import com.ronbodnar.auth.reactive.user.UserRepository;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+@SpringBootTest(properties = "com.ronbodnar.auth.security.jwt.secret=" + JwtAuthenticationTests.SECRET)
+@AutoConfigureWebTestClient
+class JwtAuthenticationTests {
+
+	static final String SECRET = "c2VjcmV0LXNlY3JldC1zZWNyZXQtc2VjcmV0LXNlY3JldA==";
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private R2dbcUserDetailsService userDetailsService;
+
+	@Autowired
+	private DatabaseClient databaseClient;
+
+	@Test
+	void missingCookieIsRejectedWithTheSharedJsonBody() {
+		webTestClient.get().uri("/users")
+				.exchange()
+				.expectStatus().isUnauthorized()
+				.expectHeader().contentType(MediaType.APPLICATION_JSON)
+				.expectBody()
+				.jsonPath("$.status").isEqualTo(401)
+				.jsonPath("$.payload").isNotEmpty();
+	}
+
+	@Test
+	void validCookieIsAuthenticated() {
+		User user = userRepository.save(new User("valid@mail.com", "password")).block();
+
+		webTestClient.get().uri("/users?limit=1")
+				.cookie("auth", sign(user.getUsername()))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.items.length()").isEqualTo(1)
+				.jsonPath("$.nextCursor").isNotEmpty();
+	}
+
+	@Test
+	void tamperedCookieIsRejected() {
+		User user = userRepository.save(new User("tampered@mail.com", "password")).block();
+		String token = sign(user.getUsername());
+		int index = token.lastIndexOf('.') + 5;
+		char replacement = (token.charAt(index) == 'A') ? 'Q' : 'A';
+		String tampered = token.substring(0, index) + replacement + token.substring(index + 1);
+
+		webTestClient.get().uri("/users")
+				.cookie("auth", tampered)
+				.exchange()
+				.expectStatus().isUnauthorized()
+				.expectBody()
+				.jsonPath("$.status").isEqualTo(401);
+	}
+
+	@Test
+	void userWithSeveralRolesIsLoadedWithAllOfThem() {
+		User user = userRepository.save(new User("roles@mail.com", "password")).block();
+		for (String role : List.of("ROLE_USER", "ROLE_ADMIN")) {
+			Integer roleId = databaseClient.sql("INSERT INTO roles (name) VALUES (:name)")
+					.bind("name", role)
+					.filter(statement -> statement.returnGeneratedValues("id"))
+					.map(row -> row.get("id", Integer.class))
+					.one()
+					.block();
+			databaseClient.sql("INSERT INTO user_roles (user_id, role_id) VALUES (:userId, :roleId)")
+					.bind("userId", user.getId())
+					.bind("roleId", roleId)
+					.then()
+					.block();
+		}
+
+		UserDetails userDetails = userDetailsService.findByUsername(user.getUsername()).block();
+
+		assertNotNull(userDetails);
+		assertEquals(user.getUsername(), userDetails.getUsername());
+		assertEquals(Set.of("ROLE_USER", "ROLE_ADMIN"), userDetails.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toSet()));
+	}
+
+	/**
+	 * Signs a token the way the servlet service does, with the kid derived
+	 * from the shared secret.
+	 */
+	private static String sign(String subject) {
+		byte[] secret = Decoders.BASE64.decode(SECRET);
+		Instant now = Instant.now();
+		return Jwts.builder()
+				.setHeaderParam(JwsHeader.KEY_ID, keyId(secret))
+				.setSubject(subject)
+				.setIssuedAt(Date.from(now))
+				.setExpiration(Date.from(now.plusSeconds(900)))
+				.signWith(Keys.hmacShaKeyFor(secret), SignatureAlgorithm.HS256)
+				.compact();
+	}
+
+	private static String keyId(byte[] secret) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(secret);
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 8));
+		} catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
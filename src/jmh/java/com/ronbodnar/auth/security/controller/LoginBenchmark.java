@@ -0,0 +1,94 @@
+package com.ronbodnar.auth.security.controller;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import com.ronbodnar.auth.security.audit.AuthEventLog;
+import com.ronbodnar.auth.security.crypto.AdaptivePasswordEncoderFactory;
+import com.ronbodnar.auth.security.crypto.BoundedPasswordEncoder;
+import com.ronbodnar.auth.security.model.UserPrincipal;
+import com.ronbodnar.auth.security.service.JwtService;
+import com.ronbodnar.auth.security.service.JwtServiceBenchmark;
+import com.ronbodnar.auth.security.service.RefreshTokenService;
+
+/**
+ * Measures logins per second on one core: the work {@link AuthController}
+ * does for POST /auth/login, from password verification to both Set-Cookie
+ * headers, with the user served from memory instead of the database. The
+ * hashing pool has a single thread, so the result is the per-core rate for
+ * each BCrypt strength.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(1)
+@Fork(1)
+public class LoginBenchmark {
+
+	private static final String USERNAME = "user@mail.com";
+	private static final String PASSWORD = "benchmark-password";
+
+	@Param({ "10", "12" })
+	private int bcryptStrength;
+
+	private BoundedPasswordEncoder passwordEncoder;
+	private AuthenticationManager authenticationManager;
+	private JwtService jwtService;
+	private RefreshTokenService refreshTokenService;
+
+	@Setup
+	public void setUp() {
+		passwordEncoder = new BoundedPasswordEncoder(
+				AdaptivePasswordEncoderFactory.create("bcrypt", bcryptStrength, Duration.ZERO, 310_000), 1, 1,
+				Duration.ofSeconds(1));
+		String hash = passwordEncoder.encode(PASSWORD);
+
+		DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+		provider.setPasswordEncoder(passwordEncoder);
+		provider.setUserDetailsService(username -> new UserPrincipal(1, USERNAME, USERNAME, hash,
+				List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+		authenticationManager = new ProviderManager(provider);
+
+		jwtService = JwtServiceBenchmark.newJwtService(false, false);
+		refreshTokenService = new RefreshTokenService(new AuthEventLog(), Duration.ofDays(7));
+	}
+
+	@TearDown
+	public void tearDown() {
+		passwordEncoder.destroy();
+	}
+
+	@Benchmark
+	public String[] login() {
+		Authentication authentication = authenticationManager.authenticate(
+				UsernamePasswordAuthenticationToken.unauthenticated(USERNAME, PASSWORD));
+		UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+		String refreshToken = refreshTokenService.issue(userPrincipal.getUsername());
+		return new String[] { jwtService.buildCookieHeader(userPrincipal),
+				refreshTokenService.buildCookieHeader(refreshToken) };
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.ronbodnar.auth.security.filter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import com.ronbodnar.auth.security.audit.AuthEventLog;
+import com.ronbodnar.auth.security.model.UserPrincipal;
+import com.ronbodnar.auth.security.service.JwtService;
+import com.ronbodnar.auth.security.service.JwtServiceBenchmark;
+import com.ronbodnar.auth.security.service.ServiceTokenRegistry;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * Measures the per-request cost of the two token filters, chained in the
+ * order SecurityConfig registers them, for each kind of request: a public
+ * path, a service token, a JWT cookie and no credentials at all. JWTs are
+ * stateless, so no principal lookup is involved. Each invocation builds a
+ * fresh mock request, which is included in every result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationFiltersBenchmark {
+
+	private static final String SERVICE_TOKEN = "benchmark-service-token";
+
+	@Param({ "public", "bearer", "jwt", "anonymous" })
+	private String credential;
+
+	private BearerAuthenticationFilter bearerAuthenticationFilter;
+	private JwtAuthenticationFilter jwtAuthenticationFilter;
+	private FilterChain chain;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		RequestMatcher publicPaths = new OrRequestMatcher(AntPathRequestMatcher.antMatcher("/actuator/health"),
+				AntPathRequestMatcher.antMatcher("/favicon.ico"), AntPathRequestMatcher.antMatcher("/error"));
+		JwtService jwtService = JwtServiceBenchmark.newJwtService(false, true);
+
+		bearerAuthenticationFilter = new BearerAuthenticationFilter();
+		bearerAuthenticationFilter.setPublicPaths(publicPaths);
+		bearerAuthenticationFilter.setServiceTokenRegistry(
+				new ServiceTokenRegistry("", "", List.of("gateway:" + SERVICE_TOKEN), null));
+		bearerAuthenticationFilter.setAuthEventLog(new AuthEventLog());
+
+		jwtAuthenticationFilter = new JwtAuthenticationFilter();
+		jwtAuthenticationFilter.setPublicPaths(publicPaths);
+		jwtAuthenticationFilter.setJwtUtils(jwtService);
+
+		FilterChain end = (request, response) -> {
+		};
+		chain = (request, response) -> jwtAuthenticationFilter.doFilter(request, response, end);
+
+		token = jwtService.buildToken(new UserPrincipal(1, "user@mail.com", "user@mail.com", null,
+				List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+	}
+
+	@Benchmark
+	public Authentication filter() throws ServletException, IOException {
+		String path = credential.equals("public") ? "/actuator/health" : "/users";
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+		request.setServletPath(path);
+		if (credential.equals("bearer")) {
+			request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + SERVICE_TOKEN);
+		} else if (credential.equals("jwt")) {
+			request.setCookies(new Cookie("auth", token));
+		}
+
+		try {
+			bearerAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), chain);
+			return SecurityContextHolder.getContext().getAuthentication();
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.ronbodnar.auth.security.handler;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.core.AuthenticationException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ronbodnar.auth.security.audit.AuthEventLog;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Measures how fast unauthenticated requests are rejected, comparing the
+ * precomputed body written by {@link UnauthorizedAccessEntryPoint} with the
+ * previous HashMap and new ObjectMapper per rejection. The audit logger is
+ * below INFO in the benchmark configuration, so only the response body
+ * differs between the two.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class UnauthorizedAccessEntryPointBenchmark {
+
+	private final AuthenticationException authException = new InsufficientAuthenticationException(
+			"Full authentication is required to access this resource");
+
+	private UnauthorizedAccessEntryPoint entryPoint;
+	private MockHttpServletRequest request;
+
+	@Setup
+	public void setUp() {
+		entryPoint = new UnauthorizedAccessEntryPoint(new AuthEventLog());
+		request = new MockHttpServletRequest("GET", "/users");
+	}
+
+	@Benchmark
+	public MockHttpServletResponse commence() throws IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		entryPoint.commence(request, response, authException);
+		return response;
+	}
+
+	@Benchmark
+	public MockHttpServletResponse commenceWithNewObjectMapper() throws IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+		response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+
+		Map<String, Object> body = new HashMap<>();
+		body.put("status", HttpServletResponse.SC_UNAUTHORIZED);
+		body.put("payload", authException.getMessage());
+		new ObjectMapper().writeValue(response.getOutputStream(), body);
+		return response;
+	}
+
+}
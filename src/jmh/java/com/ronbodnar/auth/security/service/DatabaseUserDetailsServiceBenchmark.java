@@ -0,0 +1,84 @@
+package com.ronbodnar.auth.security.service;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.ronbodnar.auth.security.cache.UserPrincipalCache;
+import com.ronbodnar.auth.security.model.UserPrincipal;
+import com.ronbodnar.auth.user.PrincipalRow;
+import com.ronbodnar.auth.user.UserRepository;
+
+/**
+ * Measures user loading with 64 concurrent callers, with and without the two
+ * {@code System.out.println} calls the service used to make per lookup. The
+ * repository returns fixed rows so that only the logging differs. The legacy
+ * variant prints to a discarding stream, which still takes the PrintStream
+ * lock but skips the terminal, so it understates the old cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(64)
+@Fork(1)
+public class DatabaseUserDetailsServiceBenchmark {
+
+	private static final String USERNAME = "user@mail.com";
+
+	private final PrintStream stdout = new PrintStream(OutputStream.nullOutputStream(), true);
+
+	private UserRepository userRepository;
+	private DatabaseUserDetailsService databaseUserDetailsService;
+
+	@Setup
+	public void setUp() {
+		List<PrincipalRow> rows = List.of(
+				new PrincipalRow(1, USERNAME, USERNAME, "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3WkqJHQn6ggkZ0o9Q2s.Kby",
+						"ROLE_USER"),
+				new PrincipalRow(1, USERNAME, USERNAME, "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3WkqJHQn6ggkZ0o9Q2s.Kby",
+						"ROLE_ADMIN"));
+		userRepository = (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+				new Class<?>[] { UserRepository.class }, (proxy, method, args) -> {
+					if (method.getName().equals("findPrincipalRowsByUsername")) {
+						return rows;
+					}
+					throw new UnsupportedOperationException(method.getName());
+				});
+		databaseUserDetailsService = new DatabaseUserDetailsService(userRepository,
+				new UserPrincipalCache(false, 1, Duration.ofSeconds(1)));
+	}
+
+	@Benchmark
+	public UserDetails loadUserByUsername() {
+		return databaseUserDetailsService.loadUserByUsername(USERNAME);
+	}
+
+	@Benchmark
+	public UserDetails loadUserByUsernameWithStdout() {
+		List<PrincipalRow> rows = userRepository.findPrincipalRowsByUsername(USERNAME);
+		PrincipalRow row = rows.get(0);
+		stdout.println("User loaded: ");
+		stdout.println(String.format("PrincipalRow[id=%d, username=%s, email=%s, password=%s, roleName=%s]",
+				row.id(), row.username(), row.email(), row.password(), row.roleName()));
+		return UserPrincipal.build(rows);
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.ronbodnar.auth.security.service;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.ronbodnar.auth.security.audit.AuthEventLog;
+import com.ronbodnar.auth.security.cache.RejectedTokenCache;
+import com.ronbodnar.auth.security.cache.VerifiedTokenCache;
+import com.ronbodnar.auth.security.model.JwtClaims;
+import com.ronbodnar.auth.security.model.UserPrincipal;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Measures the per-request cost of issuing and verifying JWTs.
+ * {@code verifyWithParserPerCall} repeats what JwtService did before the key
+ * and parser were cached, decoding the secret and building a parser for
+ * every token, so it can be compared directly with {@code verify}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+	private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+	private JwtService jwtService;
+	private JwtService cachingJwtService;
+	private UserPrincipal principal;
+	private String token;
+	private String tamperedToken;
+
+	@Setup
+	public void setUp() {
+		jwtService = newJwtService(false, false);
+		cachingJwtService = newJwtService(true, false);
+		principal = new UserPrincipal(1, "user@mail.com", "user@mail.com", null,
+				List.of(new SimpleGrantedAuthority("ROLE_USER")));
+		token = jwtService.buildToken(principal);
+		tamperedToken = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+	}
+
+	@Benchmark
+	public String buildToken() {
+		return jwtService.buildToken(principal);
+	}
+
+	@Benchmark
+	public JwtClaims verify() {
+		return jwtService.verify(token);
+	}
+
+	@Benchmark
+	public JwtClaims verifyCached() {
+		return cachingJwtService.verify(token);
+	}
+
+	@Benchmark
+	public JwtClaims verifyRejected() {
+		return jwtService.verify(tamperedToken);
+	}
+
+	@Benchmark
+	public Claims verifyWithParserPerCall() {
+		Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+		return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+	}
+
+	/**
+	 * Builds an HS256 JwtService outside of Spring, as the benchmarks need it.
+	 *
+	 * @param verifiedCacheEnabled whether verified tokens are cached
+	 * @param statelessEnabled     whether tokens carry enough claims to rebuild
+	 *                             the principal without a lookup
+	 * @return the initialized service
+	 */
+	public static JwtService newJwtService(boolean verifiedCacheEnabled, boolean statelessEnabled) {
+		JwtService service = new JwtService(new RejectedTokenCache(true, 10_000, Duration.ofMinutes(5)),
+				new VerifiedTokenCache(verifiedCacheEnabled, 100_000, Duration.ofMinutes(15)), new AuthEventLog(),
+				new TokenRevocationService(100_000, 0.01));
+		ReflectionTestUtils.setField(service, "secret", SECRET);
+		ReflectionTestUtils.setField(service, "expiration", Duration.ofMinutes(15));
+		ReflectionTestUtils.setField(service, "algorithm", "HS256");
+		ReflectionTestUtils.setField(service, "maxTokenLength", 4096);
+		ReflectionTestUtils.setField(service, "statelessEnabled", statelessEnabled);
+		ReflectionTestUtils.setField(service, "statelessMaxAge", 3600L);
+		service.init();
+		return service;
+	}
+
+}
@@ -1,17 +1,23 @@
 package com.ronbodnar.auth;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.ronbodnar.auth.user.User;
 import com.ronbodnar.auth.user.UserRepository;
 
 @SpringBootApplication
+@EnableScheduling
 public class UserAuthenticationApplication {
 
+	private static final Logger logger = LoggerFactory.getLogger(UserAuthenticationApplication.class);
+
 	public static void main(String[] args) {
 		SpringApplication.run(UserAuthenticationApplication.class, args);
 	}
@@ -21,7 +27,7 @@ public class UserAuthenticationApplication {
 		return args -> {
 			User user = new User("test@mail.com", passwordEncoder.encode("test"));
 			userRepository.save(user);
-			System.out.println("Added user: " + user.getEmail());
+			logger.info("Added user: {}", user.getEmail());
 		};
 	}
 }
@@ -0,0 +1,40 @@
+package com.ronbodnar.auth.exception;
+
+/**
+ * Exception thrown when the service is temporarily out of capacity and the
+ * client should retry later.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructs a new ServiceUnavailableException with the specified detail
+     * message and retry hint.
+     *
+     * @param message           the detail message
+     * @param retryAfterSeconds the number of seconds the client should wait
+     *                          before retrying
+     */
+    public ServiceUnavailableException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**
+     * Retrieves the number of seconds the client should wait before retrying.
+     *
+     * @return the retry delay in seconds
+     */
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public String toString() {
+        return "ServiceUnavailableException{" +
+                "message='" + getMessage() + '\'' +
+                ", retryAfterSeconds=" + retryAfterSeconds +
+                '}';
+    }
+}
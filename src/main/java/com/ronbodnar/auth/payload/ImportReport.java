@@ -0,0 +1,50 @@
+package com.ronbodnar.auth.payload;
+
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * A class representing the outcome of a bulk user import.
+ */
+@Getter
+public class ImportReport {
+
+    private final int received;
+    private final int imported;
+    private final int failed;
+    private final long elapsedMillis;
+    private final double rowsPerSecond;
+    private final List<RowError> errors;
+    private final boolean errorsTruncated;
+
+    /**
+     * Constructor for creating an ImportReport.
+     *
+     * @param received        the number of data rows read
+     * @param imported        the number of users inserted
+     * @param failed          the number of rows rejected
+     * @param elapsedMillis   the duration of the import
+     * @param errors          the reasons rows were rejected
+     * @param errorsTruncated whether more rows failed than are listed
+     */
+    public ImportReport(int received, int imported, int failed, long elapsedMillis, List<RowError> errors,
+            boolean errorsTruncated) {
+        this.received = received;
+        this.imported = imported;
+        this.failed = failed;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = (elapsedMillis > 0) ? received * 1000.0 / elapsedMillis : received;
+        this.errors = errors;
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    /**
+     * The reason a single row was rejected.
+     *
+     * @param line    the line number of the row in the upload
+     * @param message the reason the row was rejected
+     */
+    public record RowError(int line, String message) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.ronbodnar.auth.payload;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A class representing a batch of tokens to introspect in one call.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class IntrospectionBatchRequest {
+
+    private List<String> tokens;
+}
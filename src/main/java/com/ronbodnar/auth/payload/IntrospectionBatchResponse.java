@@ -0,0 +1,24 @@
+package com.ronbodnar.auth.payload;
+
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * A class representing the introspection results of a batch, in the order
+ * the tokens were submitted.
+ */
+@Getter
+public class IntrospectionBatchResponse {
+
+    private final List<IntrospectionResponse> results;
+
+    /**
+     * Constructor for creating an IntrospectionBatchResponse.
+     *
+     * @param results the result for each submitted token
+     */
+    public IntrospectionBatchResponse(List<IntrospectionResponse> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,58 @@
+package com.ronbodnar.auth.payload;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ronbodnar.auth.security.model.JwtClaims;
+
+import lombok.Getter;
+
+/**
+ * A class representing the introspection result of a single token, shaped
+ * after RFC 7662. Inactive tokens carry no other fields.
+ */
+@Getter
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IntrospectionResponse {
+
+    private static final IntrospectionResponse INACTIVE = new IntrospectionResponse(false, null, null, null, null,
+            null);
+
+    private final boolean active;
+    private final String sub;
+    private final String jti;
+    private final Long iat;
+    private final Long exp;
+    private final List<String> roles;
+
+    private IntrospectionResponse(boolean active, String sub, String jti, Long iat, Long exp, List<String> roles) {
+        this.active = active;
+        this.sub = sub;
+        this.jti = jti;
+        this.iat = iat;
+        this.exp = exp;
+        this.roles = roles;
+    }
+
+    /**
+     * Builds the result for a verified token.
+     *
+     * @param claims the verified claims of the token
+     * @return an active introspection result
+     */
+    public static IntrospectionResponse of(JwtClaims claims) {
+        return new IntrospectionResponse(true, claims.subject(), claims.id(),
+                (claims.issuedAt() != null) ? claims.issuedAt().getEpochSecond() : null,
+                (claims.expiresAt() != null) ? claims.expiresAt().getEpochSecond() : null,
+                claims.roles());
+    }
+
+    /**
+     * Retrieves the result for a token that is invalid, expired or revoked.
+     *
+     * @return the shared inactive introspection result
+     */
+    public static IntrospectionResponse inactive() {
+        return INACTIVE;
+    }
+}
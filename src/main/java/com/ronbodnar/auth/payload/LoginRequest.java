@@ -0,0 +1,25 @@
+package com.ronbodnar.auth.payload;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A class representing the credentials submitted to log in.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class LoginRequest {
+
+    private String username;
+
+    private String password;
+
+    @Override
+    public String toString() {
+        return "LoginRequest{" +
+                "username='" + username + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,29 @@
+package com.ronbodnar.auth.payload;
+
+import java.util.List;
+
+import lombok.Getter;
+
+/**
+ * A class representing one page of a keyset-paginated listing.
+ *
+ * @param <T> the type of the items in the page
+ */
+@Getter
+public class PageResponse<T> {
+
+    private final List<T> items;
+    private final Integer nextCursor;
+
+    /**
+     * Constructor for creating a PageResponse.
+     *
+     * @param items      the items of the page
+     * @param nextCursor the cursor to request the following page with, or null
+     *                   if this is the last page
+     */
+    public PageResponse(List<T> items, Integer nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
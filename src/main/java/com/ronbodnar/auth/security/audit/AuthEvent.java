@@ -0,0 +1,17 @@
+package com.ronbodnar.auth.security.audit;
+
+import java.time.Instant;
+
+/**
+ * A single authentication event waiting to be written to the audit log.
+ *
+ * @param timestamp     the time the event occurred
+ * @param type          the kind of event
+ * @param principal     the username involved, or null if unknown
+ * @param remoteAddress the address of the client, or null if unknown
+ * @param path          the request path, or null if unknown
+ * @param detail        a short description of the event, or null
+ */
+public record AuthEvent(Instant timestamp, AuthEventType type, String principal, String remoteAddress,
+        String path, String detail) {
+}
@@ -0,0 +1,55 @@
+package com.ronbodnar.auth.security.audit;
+
+import java.time.Instant;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.stereotype.Component;
+
+/**
+ * Forwards the authentication manager's login events to the audit log.
+ */
+@Component
+public class AuthEventListener {
+
+    private final AuthEventLog authEventLog;
+
+    /**
+     * Constructs a new AuthEventListener.
+     *
+     * @param authEventLog the audit log to record events in
+     */
+    public AuthEventListener(AuthEventLog authEventLog) {
+        this.authEventLog = authEventLog;
+    }
+
+    /**
+     * Records a successful username and password login.
+     *
+     * @param event the success event published by the authentication manager
+     */
+    @EventListener
+    public void onSuccess(AuthenticationSuccessEvent event) {
+        record(AuthEventType.LOGIN_SUCCESS, event.getAuthentication(), null);
+    }
+
+    /**
+     * Records a rejected username and password login.
+     *
+     * @param event the failure event published by the authentication manager
+     */
+    @EventListener
+    public void onFailure(AbstractAuthenticationFailureEvent event) {
+        record(AuthEventType.LOGIN_FAILURE, event.getAuthentication(), event.getException().getMessage());
+    }
+
+    private void record(AuthEventType type, Authentication authentication, String detail) {
+        String remoteAddress = (authentication.getDetails() instanceof WebAuthenticationDetails details)
+                ? details.getRemoteAddress()
+                : null;
+        authEventLog.record(new AuthEvent(Instant.now(), type, authentication.getName(), remoteAddress, null, detail));
+    }
+}
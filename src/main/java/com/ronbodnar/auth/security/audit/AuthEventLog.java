@@ -0,0 +1,131 @@
+package com.ronbodnar.auth.security.audit;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * The audit log for authentication events. Events are formatted into a
+ * single line and written to the dedicated {@value #LOGGER_NAME} logger,
+ * which logback-spring.xml routes through a {@link CountingAsyncAppender}
+ * into a rolling file. Request threads therefore never wait on the file;
+ * when the appender's queue is full, events are dropped and counted.
+ */
+@Component
+public class AuthEventLog implements MeterBinder {
+
+    static final String LOGGER_NAME = "audit";
+    private static final String APPENDER_NAME = "ASYNC_AUDIT";
+
+    private static final Logger audit = LoggerFactory.getLogger(LOGGER_NAME);
+
+    private final LongAdder recorded = new LongAdder();
+
+    /**
+     * Records an event for the given request.
+     *
+     * @param type      the kind of event
+     * @param principal the username involved, or null if unknown
+     * @param request   the request that caused the event
+     * @param detail    a short description of the event, or null
+     */
+    public void record(AuthEventType type, String principal, HttpServletRequest request, String detail) {
+        record(new AuthEvent(Instant.now(), type, principal, request.getRemoteAddr(), request.getRequestURI(),
+                detail));
+    }
+
+    /**
+     * Records an event without blocking.
+     *
+     * @param event the event to record
+     */
+    public void record(AuthEvent event) {
+        if (audit.isInfoEnabled()) {
+            audit.info(format(event));
+            recorded.increment();
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        FunctionCounter.builder("auth.audit.events.recorded", recorded, LongAdder::sum)
+                .description("Authentication events handed to the audit logger")
+                .register(registry);
+
+        if (LoggerFactory.getLogger(LOGGER_NAME) instanceof ch.qos.logback.classic.Logger logger) {
+            Appender<?> appender = logger.getAppender(APPENDER_NAME);
+            if (appender instanceof CountingAsyncAppender asyncAppender) {
+                Gauge.builder("auth.audit.queue.size", asyncAppender,
+                        CountingAsyncAppender::getNumberOfElementsInQueue)
+                        .description("Authentication events waiting to be written")
+                        .register(registry);
+                FunctionCounter.builder("auth.audit.events.written", asyncAppender,
+                        CountingAsyncAppender::getWrittenCount)
+                        .description("Authentication events written to the audit file")
+                        .register(registry);
+                FunctionCounter.builder("auth.audit.events.dropped", asyncAppender,
+                        CountingAsyncAppender::getDroppedCount)
+                        .description("Authentication events dropped because the audit queue was full")
+                        .register(registry);
+            }
+        }
+    }
+
+    /**
+     * Formats the event as a single line. Every field supplied by a client is
+     * quoted and escaped, so no value can end the line or imitate another
+     * field.
+     *
+     * @param event the event to format
+     * @return the formatted line, without a line terminator
+     */
+    static String format(AuthEvent event) {
+        StringBuilder buffer = new StringBuilder(160);
+        buffer.append(event.timestamp()).append(" type=").append(event.type());
+        appendField(buffer, "principal", event.principal());
+        appendField(buffer, "remote", event.remoteAddress());
+        appendField(buffer, "path", event.path());
+        appendField(buffer, "detail", event.detail());
+        return buffer.toString();
+    }
+
+    private static void appendField(StringBuilder buffer, String name, String value) {
+        buffer.append(' ').append(name).append('=');
+        if (value == null) {
+            buffer.append('-');
+            return;
+        }
+
+        buffer.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> buffer.append("\\\"");
+                case '\\' -> buffer.append("\\\\");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                case '\t' -> buffer.append("\\t");
+                default -> {
+                    if (Character.isISOControl(c) || c == '\u2028' || c == '\u2029') {
+                        buffer.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        buffer.append(c);
+                    }
+                }
+            }
+        }
+        buffer.append('"');
+    }
+}
@@ -0,0 +1,28 @@
+package com.ronbodnar.auth.security.audit;
+
+/**
+ * The kinds of authentication events recorded in the audit log.
+ */
+public enum AuthEventType {
+
+    /** A username and password were accepted. */
+    LOGIN_SUCCESS,
+
+    /** A username and password were rejected. */
+    LOGIN_FAILURE,
+
+    /** A JWT was presented but failed verification. */
+    TOKEN_REJECTED,
+
+    /** A refresh token that was already rotated was presented again. */
+    REFRESH_TOKEN_REUSED,
+
+    /** A Bearer token was presented but did not match any known token. */
+    BEARER_MISMATCH,
+
+    /** An unauthenticated request tried to access a protected resource. */
+    AUTHENTICATION_REQUIRED,
+
+    /** An authenticated request was denied access to a resource. */
+    ACCESS_DENIED
+}
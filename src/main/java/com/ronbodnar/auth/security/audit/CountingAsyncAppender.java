@@ -0,0 +1,174 @@
+package com.ronbodnar.auth.security.audit;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+/**
+ * An asynchronous appender that never blocks the logging thread and counts
+ * what happens to each event. Events are put on a bounded queue and written
+ * to the attached appenders by a single worker thread; an event that finds
+ * the queue full is dropped and counted. Logback's own AsyncAppender drops
+ * such events silently when {@code neverBlock} is set, which hides a backed
+ * up audit file.
+ */
+public class CountingAsyncAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final long MAX_FLUSH_MILLIS = 1000;
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    private int queueSize = 256;
+    private BlockingQueue<ILoggingEvent> queue;
+    private Thread worker;
+
+    /**
+     * Sets the number of events the queue holds before new events are
+     * dropped.
+     *
+     * @param queueSize the capacity of the queue
+     */
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (queueSize < 1) {
+            addError("Invalid queue size " + queueSize + " for appender " + getName());
+            return;
+        }
+
+        queue = new ArrayBlockingQueue<>(queueSize);
+        worker = new Thread(this::drain, "audit-writer-" + getName());
+        worker.setDaemon(true);
+        super.start();
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+
+        super.stop();
+        worker.interrupt();
+        try {
+            worker.join(MAX_FLUSH_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            addWarn("Appender " + getName() + " stopped with " + queue.size() + " events unwritten");
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        event.prepareForDeferredProcessing();
+        if (!queue.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Retrieves the number of events dropped because the queue was full.
+     *
+     * @return the dropped event count
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Retrieves the number of events handed to the attached appenders.
+     *
+     * @return the written event count
+     */
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    /**
+     * Retrieves the number of events waiting to be written.
+     *
+     * @return the queue size
+     */
+    public int getNumberOfElementsInQueue() {
+        return (queue != null) ? queue.size() : 0;
+    }
+
+    /**
+     * Writes queued events until the appender is stopped, then flushes what
+     * is left in the queue.
+     */
+    private void drain() {
+        try {
+            while (isStarted()) {
+                write(queue.take());
+            }
+        } catch (InterruptedException e) {
+            // Stopped; fall through and flush the remaining events
+        }
+
+        List<ILoggingEvent> remaining = new ArrayList<>(queue.size());
+        queue.drainTo(remaining);
+        remaining.forEach(this::write);
+    }
+
+    private void write(ILoggingEvent event) {
+        appenders.appendLoopOnAppenders(event);
+        written.increment();
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
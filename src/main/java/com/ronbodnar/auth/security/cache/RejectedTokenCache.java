@@ -0,0 +1,98 @@
+package com.ronbodnar.auth.security.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ronbodnar.auth.security.model.TokenDigest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * A bounded negative cache of tokens that recently failed verification.
+ * Clients that keep retrying with an expired or tampered token are rejected
+ * with a hash lookup instead of a full signature check.
+ */
+@Component
+public class RejectedTokenCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "rejectedTokens";
+
+    private final boolean enabled;
+    private final Cache<TokenDigest, Boolean> cache;
+
+    /**
+     * Constructs a new RejectedTokenCache.
+     *
+     * @param enabled whether rejected tokens are cached at all
+     * @param maxSize the maximum number of cached tokens
+     * @param ttl     how long a token is remembered after it was rejected
+     */
+    public RejectedTokenCache(
+            @Value("${com.ronbodnar.auth.security.jwt.rejected-cache.enabled:true}") boolean enabled,
+            @Value("${com.ronbodnar.auth.security.jwt.rejected-cache.max-size:10000}") long maxSize,
+            @Value("${com.ronbodnar.auth.security.jwt.rejected-cache.ttl:5m}") Duration ttl) {
+        this(enabled, maxSize, ttl, Ticker.systemTicker());
+    }
+
+    /**
+     * Constructs a new RejectedTokenCache that reads time from the given ticker.
+     *
+     * @param enabled whether rejected tokens are cached at all
+     * @param maxSize the maximum number of cached tokens
+     * @param ttl     how long a token is remembered after it was rejected
+     * @param ticker  the source of elapsed time
+     */
+    RejectedTokenCache(boolean enabled, long maxSize, Duration ttl, Ticker ticker) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Checks whether the token was rejected recently.
+     *
+     * @param digest the digest of the token
+     * @return true if the token is known to be invalid
+     */
+    public boolean contains(TokenDigest digest) {
+        return enabled && cache.getIfPresent(digest) != null;
+    }
+
+    /**
+     * Remembers the token as rejected.
+     *
+     * @param digest the digest of the token
+     */
+    public void add(TokenDigest digest) {
+        if (enabled) {
+            cache.put(digest, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Retrieves the hit, miss and eviction counters of the cache.
+     *
+     * @return a snapshot of the cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
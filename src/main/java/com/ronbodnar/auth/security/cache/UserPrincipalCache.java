@@ -0,0 +1,98 @@
+package com.ronbodnar.auth.security.cache;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * A bounded cache of loaded user principals keyed by username.
+ * Entries expire a fixed time after they are written and must be invalidated
+ * explicitly whenever the underlying user changes.
+ */
+@Component
+public class UserPrincipalCache implements UserCache, MeterBinder {
+
+    private static final String CACHE_NAME = "userPrincipals";
+
+    private final boolean enabled;
+    private final Cache<String, UserDetails> cache;
+
+    /**
+     * Constructs a new UserPrincipalCache.
+     *
+     * @param enabled whether principals are cached at all
+     * @param maxSize the maximum number of cached principals
+     * @param ttl     how long a principal stays cached after it is loaded
+     */
+    public UserPrincipalCache(
+            @Value("${com.ronbodnar.auth.security.user-cache.enabled:true}") boolean enabled,
+            @Value("${com.ronbodnar.auth.security.user-cache.max-size:10000}") long maxSize,
+            @Value("${com.ronbodnar.auth.security.user-cache.ttl:60s}") Duration ttl) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retrieves a cached principal.
+     *
+     * @param username the username of the principal
+     * @return the cached principal, or null if it is not cached
+     */
+    @Override
+    public UserDetails getUserFromCache(String username) {
+        return enabled ? cache.getIfPresent(username) : null;
+    }
+
+    /**
+     * Caches the given principal under its username.
+     *
+     * @param user the principal to cache
+     */
+    @Override
+    public void putUserInCache(UserDetails user) {
+        if (enabled) {
+            cache.put(user.getUsername(), user);
+        }
+    }
+
+    /**
+     * Invalidates the cached principal for the given username. Must be called
+     * whenever the user's roles, password or account details change.
+     *
+     * @param username the username of the principal to invalidate
+     */
+    @Override
+    public void removeUserFromCache(String username) {
+        cache.invalidate(username);
+    }
+
+    /**
+     * Retrieves the hit, miss and eviction counters of the cache.
+     *
+     * @return a snapshot of the cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
@@ -0,0 +1,147 @@
+package com.ronbodnar.auth.security.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ronbodnar.auth.security.model.JwtClaims;
+import com.ronbodnar.auth.security.model.TokenDigest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * A bounded cache of tokens whose signature has already been verified, mapped
+ * to their claims. Each entry expires at the token's own expiry or after the
+ * configured maximum time, whichever comes first, so a cached token is never
+ * accepted past its {@code exp}.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private static final String CACHE_NAME = "verifiedTokens";
+
+    private final boolean enabled;
+    private final Cache<TokenDigest, JwtClaims> cache;
+
+    /**
+     * Constructs a new VerifiedTokenCache.
+     *
+     * @param enabled whether verified tokens are cached at all
+     * @param maxSize the maximum number of cached tokens
+     * @param maxTtl  the maximum time a token stays cached
+     */
+    public VerifiedTokenCache(
+            @Value("${com.ronbodnar.auth.security.jwt.verified-cache.enabled:false}") boolean enabled,
+            @Value("${com.ronbodnar.auth.security.jwt.verified-cache.max-size:100000}") long maxSize,
+            @Value("${com.ronbodnar.auth.security.jwt.verified-cache.max-ttl:15m}") Duration maxTtl) {
+        this(enabled, maxSize, maxTtl, Clock.systemUTC(), Ticker.systemTicker());
+    }
+
+    /**
+     * Constructs a new VerifiedTokenCache that reads time from the given
+     * sources, which must advance together.
+     *
+     * @param enabled whether verified tokens are cached at all
+     * @param maxSize the maximum number of cached tokens
+     * @param maxTtl  the maximum time a token stays cached
+     * @param clock   the wall clock that token expiries are compared with
+     * @param ticker  the source of elapsed time
+     */
+    VerifiedTokenCache(boolean enabled, long maxSize, Duration maxTtl, Clock clock, Ticker ticker) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilTokenExpiry(maxTtl.toNanos(), clock))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retrieves the claims of an already verified token.
+     *
+     * @param digest the digest of the token
+     * @return the verified claims, or null if the token is not cached
+     */
+    public JwtClaims get(TokenDigest digest) {
+        return enabled ? cache.getIfPresent(digest) : null;
+    }
+
+    /**
+     * Caches the claims of a token whose signature was just verified.
+     *
+     * @param digest the digest of the token
+     * @param claims the verified claims
+     */
+    public void put(TokenDigest digest, JwtClaims claims) {
+        if (enabled) {
+            cache.put(digest, claims);
+        }
+    }
+
+    /**
+     * Discards all cached tokens, for example after the signing key changed.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Retrieves the hit, miss and eviction counters of the cache.
+     *
+     * @return a snapshot of the cache statistics
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Expires each entry at the token's expiry, capped at the maximum TTL.
+     */
+    private static final class UntilTokenExpiry implements Expiry<TokenDigest, JwtClaims> {
+
+        private final long maxTtlNanos;
+        private final Clock clock;
+
+        UntilTokenExpiry(long maxTtlNanos, Clock clock) {
+            this.maxTtlNanos = maxTtlNanos;
+            this.clock = clock;
+        }
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, JwtClaims claims, long currentTime) {
+            if (claims.expiresAt() == null) {
+                return maxTtlNanos;
+            }
+            long remaining = Duration.between(clock.instant(), claims.expiresAt()).toNanos();
+            return Math.max(0, Math.min(maxTtlNanos, remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, JwtClaims claims, long currentTime,
+                long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, JwtClaims claims, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
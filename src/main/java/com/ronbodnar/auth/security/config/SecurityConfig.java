@@ -1,9 +1,17 @@
 package com.ronbodnar.auth.security.config;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 
+import jakarta.servlet.DispatcherType;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationEventPublisher;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.ProviderManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -11,13 +19,18 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.ronbodnar.auth.security.crypto.AdaptivePasswordEncoderFactory;
+import com.ronbodnar.auth.security.crypto.BoundedPasswordEncoder;
 import com.ronbodnar.auth.security.filter.BearerAuthenticationFilter;
 import com.ronbodnar.auth.security.filter.JwtAuthenticationFilter;
 import com.ronbodnar.auth.security.handler.AccessDeniedResponseHandler;
@@ -34,6 +47,7 @@ public class SecurityConfig {
     private final DatabaseUserDetailsService databaseUserDetailsService;
     private final AccessDeniedResponseHandler accessDeniedResponseHandler;
     private final UnauthorizedAccessEntryPoint unauthorizedAccessEntryPoint;
+    private final RequestMatcher publicPathMatcher;
 
     /**
      * Constructs a SecurityConfig with the specified services.
@@ -41,17 +55,23 @@ public class SecurityConfig {
      * @param unauthorizedAccessEntryPoint the entry point for unauthorized access
      * @param accessDeniedResponseHandler  the handler for access denied responses
      * @param databaseUserDetailsService   the service to load user-specific data
+     * @param publicPaths                  the path patterns that bypass
+     *                                     authentication entirely
      */
     public SecurityConfig(UnauthorizedAccessEntryPoint unauthorizedAccessEntryPoint,
             AccessDeniedResponseHandler accessDeniedResponseHandler,
-            DatabaseUserDetailsService databaseUserDetailsService) {
+            DatabaseUserDetailsService databaseUserDetailsService,
+            @Value("${com.ronbodnar.auth.security.public-paths:}") String[] publicPaths) {
         this.databaseUserDetailsService = databaseUserDetailsService;
         this.accessDeniedResponseHandler = accessDeniedResponseHandler;
         this.unauthorizedAccessEntryPoint = unauthorizedAccessEntryPoint;
+        this.publicPathMatcher = buildPublicPathMatcher(publicPaths);
     }
 
     /**
      * Configures the security filter chain for HTTP requests.
+     * The Bearer filter runs first because its check is a single header
+     * lookup; the JWT filter is skipped once a request is authenticated.
      *
      * @param http the HttpSecurity object used to configure web-based security
      * @return the configured SecurityFilterChain
@@ -65,28 +85,43 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedAccessEntryPoint)
                         .accessDeniedHandler(accessDeniedResponseHandler))
-                .authorizeHttpRequests(authorize -> authorize.anyRequest().authenticated())
+                .authorizeHttpRequests(authorize -> authorize
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers(publicPathMatcher).permitAll()
+                        .requestMatchers(HttpMethod.POST, "/auth/login", "/auth/refresh", "/auth/logout")
+                        .permitAll()
+                        .requestMatchers(HttpMethod.GET, "/.well-known/jwks.json").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/auth/introspect").hasRole("SERVICE")
+                        .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
-        http.addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
-        http.addFilterAfter(bearerAuthenticationFilter(), JwtAuthenticationFilter.class);
+        http.addFilterBefore(bearerAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(jwtAuthenticationFilter(), BearerAuthenticationFilter.class);
 
         return http.build();
     }
 
     /**
      * Configures the authentication manager with a DaoAuthenticationProvider.
+     * Login outcomes are published as events and picked up by the audit log.
+     * Passwords stored with an outdated algorithm or a lower BCrypt cost are
+     * rehashed after a successful login.
      *
+     * @param authenticationEventPublisher the publisher for login events
+     * @param passwordEncoder              the encoder used to check passwords
      * @return the AuthenticationManager for user authentication
      */
     @Bean
-    public AuthenticationManager authenticationManager() {
+    public AuthenticationManager authenticationManager(AuthenticationEventPublisher authenticationEventPublisher,
+            PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(databaseUserDetailsService);
-        authenticationProvider.setPasswordEncoder(passwordEncoder());
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        authenticationProvider.setUserDetailsPasswordService(databaseUserDetailsService);
 
         ProviderManager providerManager = new ProviderManager(authenticationProvider);
         providerManager.setEraseCredentialsAfterAuthentication(false);
+        providerManager.setAuthenticationEventPublisher(authenticationEventPublisher);
 
         return providerManager;
     }
@@ -117,7 +152,24 @@ public class SecurityConfig {
      */
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
-        return new JwtAuthenticationFilter();
+        JwtAuthenticationFilter filter = new JwtAuthenticationFilter();
+        filter.setPublicPaths(publicPathMatcher);
+        return filter;
+    }
+
+    /**
+     * Keeps the servlet container from registering the JwtAuthenticationFilter a
+     * second time outside the security filter chain.
+     *
+     * @param filter the JwtAuthenticationFilter bean
+     * @return a disabled registration for the filter
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(
+            JwtAuthenticationFilter filter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
     }
 
     /**
@@ -127,17 +179,74 @@ public class SecurityConfig {
      */
     @Bean
     public BearerAuthenticationFilter bearerAuthenticationFilter() {
-        return new BearerAuthenticationFilter();
+        BearerAuthenticationFilter filter = new BearerAuthenticationFilter();
+        filter.setPublicPaths(publicPathMatcher);
+        return filter;
     }
 
     /**
-     * Configures the BCryptPasswordEncoder bean for password encryption.
+     * Keeps the servlet container from registering the BearerAuthenticationFilter
+     * a second time outside the security filter chain.
      *
-     * @return the configured BCryptPasswordEncoder
+     * @param filter the BearerAuthenticationFilter bean
+     * @return a disabled registration for the filter
      */
     @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public FilterRegistrationBean<BearerAuthenticationFilter> bearerAuthenticationFilterRegistration(
+            BearerAuthenticationFilter filter) {
+        FilterRegistrationBean<BearerAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
     }
 
+    /**
+     * Configures the PasswordEncoder bean for password encryption.
+     * New hashes use the configured algorithm. The BCrypt strength may be
+     * calibrated to the target latency on this machine, since every BCrypt
+     * hash records its own cost; BCrypt hashes with a lower cost, and hashes
+     * of another algorithm, are rehashed on the next successful login. PBKDF2
+     * hashes do not record their iteration count, so it is fixed in
+     * configuration and PBKDF2 hashes are never upgraded. Hashing runs on a
+     * dedicated pool so that a burst of logins cannot occupy every request
+     * thread; when the pool is saturated, callers get a 503.
+     *
+     * @param algorithm        the algorithm for new hashes, bcrypt or pbkdf2
+     * @param bcryptStrength   a fixed BCrypt strength, or 0 to calibrate
+     * @param targetLatency    the time a single BCrypt hash should take
+     * @param pbkdf2Iterations the fixed PBKDF2 iteration count
+     * @param threads          the number of hashing threads, or 0 for one per
+     *                         CPU
+     * @param queueCapacity    the maximum number of hashing calls waiting for a
+     *                         thread
+     * @param retryAfter       the delay suggested to clients when saturated
+     * @return the configured PasswordEncoder
+     */
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${com.ronbodnar.auth.security.password.algorithm:bcrypt}") String algorithm,
+            @Value("${com.ronbodnar.auth.security.password.bcrypt-strength:0}") int bcryptStrength,
+            @Value("${com.ronbodnar.auth.security.password.target-latency:100ms}") Duration targetLatency,
+            @Value("${com.ronbodnar.auth.security.password.pbkdf2-iterations:310000}") int pbkdf2Iterations,
+            @Value("${com.ronbodnar.auth.security.password.threads:0}") int threads,
+            @Value("${com.ronbodnar.auth.security.password.queue-capacity:64}") int queueCapacity,
+            @Value("${com.ronbodnar.auth.security.password.retry-after:1s}") Duration retryAfter) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        PasswordEncoder encoder = AdaptivePasswordEncoderFactory.create(algorithm, bcryptStrength, targetLatency,
+                pbkdf2Iterations);
+        return new BoundedPasswordEncoder(encoder, poolSize, queueCapacity, retryAfter);
+    }
+
+    /**
+     * Builds a matcher for the configured public path patterns.
+     *
+     * @param publicPaths the Ant-style path patterns
+     * @return a matcher that matches any of the patterns
+     */
+    private static RequestMatcher buildPublicPathMatcher(String[] publicPaths) {
+        List<RequestMatcher> matchers = Arrays.stream(publicPaths)
+                .filter(path -> !path.isBlank())
+                .map(path -> (RequestMatcher) AntPathRequestMatcher.antMatcher(path.trim()))
+                .toList();
+        return matchers.isEmpty() ? request -> false : new OrRequestMatcher(matchers);
+    }
 }
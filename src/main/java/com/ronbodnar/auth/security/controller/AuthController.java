@@ -0,0 +1,116 @@
+package com.ronbodnar.auth.security.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ronbodnar.auth.payload.ErrorResponse;
+import com.ronbodnar.auth.payload.LoginRequest;
+import com.ronbodnar.auth.payload.SuccessResponse;
+import com.ronbodnar.auth.security.model.JwtClaims;
+import com.ronbodnar.auth.security.model.UserPrincipal;
+import com.ronbodnar.auth.security.service.CachedUserDetailsService;
+import com.ronbodnar.auth.security.service.JwtService;
+import com.ronbodnar.auth.security.service.RefreshTokenService;
+import com.ronbodnar.auth.security.service.RefreshTokenService.RotatedToken;
+
+/**
+ * REST controller for logging in, refreshing the access token and logging
+ * out.
+ */
+@RestController
+@RequestMapping("/auth")
+public class AuthController {
+
+    private final AuthenticationManager authenticationManager;
+    private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final CachedUserDetailsService userDetailsService;
+
+    public AuthController(AuthenticationManager authenticationManager, JwtService jwtService,
+            RefreshTokenService refreshTokenService, CachedUserDetailsService userDetailsService) {
+        this.authenticationManager = authenticationManager;
+        this.jwtService = jwtService;
+        this.refreshTokenService = refreshTokenService;
+        this.userDetailsService = userDetailsService;
+    }
+
+    /**
+     * Authenticates the user and issues the JWT and refresh token cookies. The
+     * only database access is the principal lookup before the password check;
+     * the tokens and cookies are built in memory, and the outcome is audited
+     * asynchronously through the authentication events.
+     *
+     * @param loginRequest the submitted credentials
+     * @return ResponseEntity containing the authenticated user and the cookies
+     */
+    @PostMapping("/login")
+    public ResponseEntity<SuccessResponse<UserPrincipal>> login(@RequestBody LoginRequest loginRequest) {
+        Authentication authentication = authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(loginRequest.getUsername(),
+                        loginRequest.getPassword()));
+        UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        String refreshToken = refreshTokenService.issue(userPrincipal.getUsername());
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, jwtService.buildCookieHeader(userPrincipal),
+                        refreshTokenService.buildCookieHeader(refreshToken))
+                .body(new SuccessResponse<>(userPrincipal, HttpStatus.OK.value()));
+    }
+
+    /**
+     * Exchanges the refresh token cookie for a new JWT and a new refresh token.
+     * A missing, expired or reused refresh token clears both cookies.
+     *
+     * @param request the request carrying the refresh token cookie
+     * @return ResponseEntity containing the user and the new cookies, or an
+     *         error response
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(HttpServletRequest request) {
+        RotatedToken rotated = refreshTokenService.rotate(refreshTokenService.getFromCookies(request), request);
+        if (rotated == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .header(HttpHeaders.SET_COOKIE, jwtService.getClearCookieHeader(),
+                            refreshTokenService.getClearCookieHeader())
+                    .body(new ErrorResponse("Invalid refresh token", HttpStatus.UNAUTHORIZED.value()));
+        }
+
+        UserPrincipal userPrincipal = (UserPrincipal) userDetailsService.loadUserByUsername(rotated.username());
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, jwtService.buildCookieHeader(userPrincipal),
+                        refreshTokenService.buildCookieHeader(rotated.token()))
+                .body(new SuccessResponse<>(userPrincipal, HttpStatus.OK.value()));
+    }
+
+    /**
+     * Revokes the JWT and the refresh token family and clears both cookies.
+     *
+     * @param request the request carrying the cookies
+     * @return ResponseEntity confirming the logout
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<SuccessResponse<Void>> logout(HttpServletRequest request) {
+        String token = jwtService.getFromCookies(request);
+        JwtClaims claims = (token != null) ? jwtService.verify(token) : null;
+        if (claims != null) {
+            jwtService.revoke(claims);
+        }
+        refreshTokenService.revoke(refreshTokenService.getFromCookies(request));
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, jwtService.getClearCookieHeader(),
+                        refreshTokenService.getClearCookieHeader())
+                .body(new SuccessResponse<Void>("Logged out", HttpStatus.OK.value()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.ronbodnar.auth.security.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.ronbodnar.auth.payload.ErrorResponse;
+import com.ronbodnar.auth.payload.IntrospectionBatchRequest;
+import com.ronbodnar.auth.payload.IntrospectionBatchResponse;
+import com.ronbodnar.auth.payload.IntrospectionResponse;
+import com.ronbodnar.auth.security.service.TokenIntrospectionService;
+
+/**
+ * REST controller for token introspection. Accepts a single token as an
+ * RFC 7662 form post, or a JSON batch so that a gateway can check many
+ * tokens in one round trip. Only callers holding {@code ROLE_SERVICE}, which
+ * service tokens are granted, may introspect.
+ */
+@RestController
+@RequestMapping("/auth/introspect")
+public class IntrospectionController {
+
+    private final TokenIntrospectionService tokenIntrospectionService;
+    private final int maxBatchSize;
+
+    public IntrospectionController(TokenIntrospectionService tokenIntrospectionService,
+            @Value("${com.ronbodnar.auth.security.introspection.max-batch-size:1000}") int maxBatchSize) {
+        this.tokenIntrospectionService = tokenIntrospectionService;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Introspects a single token.
+     *
+     * @param token the token to introspect
+     * @return ResponseEntity containing the introspection result
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<IntrospectionResponse> introspect(@RequestParam("token") String token) {
+        return ResponseEntity.ok(tokenIntrospectionService.introspect(token));
+    }
+
+    /**
+     * Introspects a batch of tokens.
+     *
+     * @param batchRequest the tokens to introspect
+     * @return ResponseEntity containing the results in submission order, or an
+     *         error response if the batch is too large
+     */
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> introspectBatch(@RequestBody IntrospectionBatchRequest batchRequest) {
+        List<String> tokens = (batchRequest.getTokens() != null) ? batchRequest.getTokens() : List.of();
+        if (tokens.size() > maxBatchSize) {
+            return ResponseEntity.badRequest()
+                    .body(new ErrorResponse("At most " + maxBatchSize + " tokens per batch",
+                            HttpStatus.BAD_REQUEST.value()));
+        }
+
+        return ResponseEntity.ok(new IntrospectionBatchResponse(tokenIntrospectionService.introspect(tokens)));
+    }
+}
@@ -0,0 +1,49 @@
+package com.ronbodnar.auth.security.controller;
+
+import java.time.Duration;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import com.ronbodnar.auth.security.service.JwtService;
+import com.ronbodnar.auth.security.service.SigningKeyRing;
+
+/**
+ * REST controller publishing the public JWT verification keys, so that
+ * resource servers can verify tokens without calling this service.
+ */
+@RestController
+public class JwksController {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    private final JwtService jwtService;
+
+    public JwksController(JwtService jwtService) {
+        this.jwtService = jwtService;
+    }
+
+    /**
+     * Retrieves the JSON Web Key Set. The document is prebuilt with the key
+     * ring, and clients revalidating with a matching ETag get a 304.
+     *
+     * @param request the request, checked for If-None-Match
+     * @return ResponseEntity containing the key set, or null if not modified
+     */
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> getJwks(WebRequest request) {
+        SigningKeyRing keyRing = jwtService.getKeyRing();
+        if (request.checkNotModified(keyRing.jwksEtag())) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CACHE_CONTROL)
+                .eTag(keyRing.jwksEtag())
+                .body(keyRing.jwksJson());
+    }
+}
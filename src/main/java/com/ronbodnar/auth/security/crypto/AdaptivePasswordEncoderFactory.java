@@ -0,0 +1,117 @@
+package com.ronbodnar.auth.security.crypto;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm;
+
+/**
+ * Builds a DelegatingPasswordEncoder for {@code {bcrypt}} and
+ * {@code {pbkdf2}} hashes. The BCrypt strength can be chosen by measuring
+ * this machine at startup: BCrypt records its cost in every hash, so hashes
+ * written with another strength, on another node or before a restart, still
+ * verify, and those with a lower cost report {@code upgradeEncoding} and are
+ * rehashed on the next successful login. PBKDF2 does not record its
+ * iteration count in the hash, so its count is never calibrated and must
+ * stay fixed for as long as PBKDF2 hashes are stored. Hashes with another
+ * algorithm than the configured one are rehashed on login as well; hashes
+ * without an {@code {id}} prefix are treated as BCrypt.
+ */
+public final class AdaptivePasswordEncoderFactory {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptivePasswordEncoderFactory.class);
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String PBKDF2 = "pbkdf2";
+
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+    private static final int SAMPLES = 3;
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private AdaptivePasswordEncoderFactory() {
+    }
+
+    /**
+     * Creates the delegating encoder.
+     *
+     * @param algorithm        the algorithm for new hashes, either
+     *                         {@value #BCRYPT} or {@value #PBKDF2}
+     * @param bcryptStrength   a fixed BCrypt strength, or 0 to calibrate it
+     *                         against the target latency
+     * @param targetLatency    the time a single BCrypt hash should take on this
+     *                         machine
+     * @param pbkdf2Iterations the PBKDF2 iteration count; changing it makes
+     *                         existing PBKDF2 hashes unverifiable
+     * @return the configured encoder
+     */
+    public static PasswordEncoder create(String algorithm, int bcryptStrength, Duration targetLatency,
+            int pbkdf2Iterations) {
+        if (!BCRYPT.equals(algorithm) && !PBKDF2.equals(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password algorithm: " + algorithm);
+        }
+
+        int strength = (bcryptStrength > 0) ? bcryptStrength : calibrateBCrypt(targetLatency);
+        PasswordEncoder bcrypt = new BCryptPasswordEncoder(strength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(PBKDF2, new Pbkdf2PasswordEncoder("", 16, pbkdf2Iterations,
+                SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        logger.info("Password hashing uses {} ({})", algorithm,
+                BCRYPT.equals(algorithm) ? "strength " + strength : pbkdf2Iterations + " iterations");
+        return encoder;
+    }
+
+    /**
+     * Finds the highest BCrypt strength whose hash time stays within the
+     * target. Each step doubles the cost, so a single measurement at the
+     * minimum strength is extrapolated and then confirmed.
+     *
+     * @param targetLatency the time a single hash should take
+     * @return the chosen strength
+     */
+    private static int calibrateBCrypt(Duration targetLatency) {
+        long target = targetLatency.toNanos();
+        int strength = MIN_BCRYPT_STRENGTH;
+        long elapsed = measure(new BCryptPasswordEncoder(strength));
+
+        while (strength < MAX_BCRYPT_STRENGTH && elapsed * 2 <= target) {
+            strength++;
+            elapsed *= 2;
+        }
+        if (strength > MIN_BCRYPT_STRENGTH && measure(new BCryptPasswordEncoder(strength)) > target) {
+            strength--;
+        }
+        return strength;
+    }
+
+    /**
+     * Measures the fastest of a few hashes after one warm-up run.
+     *
+     * @param encoder the encoder to measure
+     * @return the hash time in nanoseconds
+     */
+    private static long measure(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,169 @@
+package com.ronbodnar.auth.security.crypto;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.ronbodnar.auth.exception.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * A PasswordEncoder that runs the CPU-heavy work of its delegate on a
+ * dedicated, fixed-size pool with a bounded queue. The calling thread waits
+ * for the result, but a burst of logins can only occupy the pool rather than
+ * every request thread. When the queue is full, calls fail immediately with
+ * a {@link ServiceUnavailableException} instead of piling up.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    private volatile Timer waitTimer;
+    private volatile Counter rejectedCounter;
+
+    /**
+     * Constructs a new BoundedPasswordEncoder.
+     *
+     * @param delegate      the encoder doing the actual hashing
+     * @param threads       the number of hashing threads
+     * @param queueCapacity the maximum number of hashing calls waiting for a
+     *                      thread
+     * @param retryAfter    the delay suggested to clients when the pool is
+     *                      saturated
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, Duration retryAfter) {
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Queues the hashing of a password without waiting for it, so that a
+     * caller with many passwords can keep several hashes in flight.
+     *
+     * @param rawPassword the password to hash
+     * @return the future hash
+     * @throws ServiceUnavailableException if the pool is saturated
+     */
+    public Future<String> encodeAsync(CharSequence rawPassword) {
+        return enqueue(() -> delegate.encode(rawPassword));
+    }
+
+    /**
+     * Retrieves the number of hashing threads, which is how many hashes can
+     * run at once.
+     *
+     * @return the size of the hashing pool
+     */
+    public int getPoolSize() {
+        return executor.getMaximumPoolSize();
+    }
+
+    /**
+     * Runs the task on the hashing pool and waits for its result.
+     *
+     * @param task the hashing work
+     * @return the result of the task
+     * @throws ServiceUnavailableException if the pool is saturated
+     */
+    private <T> T submit(Callable<T> task) {
+        Future<T> future = enqueue(task);
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Interrupted while waiting for password hashing",
+                    retryAfterSeconds);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Queues the task on the hashing pool.
+     *
+     * @param task the hashing work
+     * @return the future result of the task
+     * @throws ServiceUnavailableException if the pool is saturated
+     */
+    private <T> Future<T> enqueue(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                Timer timer = waitTimer;
+                if (timer != null) {
+                    timer.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                }
+                return task.call();
+            });
+        } catch (RejectedExecutionException e) {
+            if (rejectedCounter != null) {
+                rejectedCounter.increment();
+            }
+            throw new ServiceUnavailableException("Too many concurrent password operations", retryAfterSeconds);
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing calls waiting for a thread")
+                .register(registry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing calls currently running")
+                .register(registry);
+        waitTimer = Timer.builder("auth.password.wait")
+                .description("Time password hashing calls spent queued before running")
+                .register(registry);
+        rejectedCounter = Counter.builder("auth.password.rejected")
+                .description("Password hashing calls rejected because the pool was saturated")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -7,37 +7,51 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.ronbodnar.auth.security.service.DatabaseUserDetailsService;
+import com.ronbodnar.auth.security.audit.AuthEventLog;
+import com.ronbodnar.auth.security.audit.AuthEventType;
+import com.ronbodnar.auth.security.service.ServiceTokenRegistry;
 
 /**
  * A filter that processes Bearer authentication tokens in HTTP requests.
- * This filter checks for a Bearer token in the Authorization header, validates
- * it, and sets the authentication in the security context if valid.
+ * This filter checks for a Bearer token in the Authorization header, matches
+ * it against the configured service tokens, and sets the authentication in the
+ * security context if one matches.
  */
-public class BearerAuthenticationFilter extends OncePerRequestFilter {
+public class BearerAuthenticationFilter extends TokenAuthenticationFilter {
 
-    @Value("${com.ronbodnar.auth.security.bearer.token}")
-    private String BEARER_TOKEN;
+    private static final Logger logger = LoggerFactory.getLogger(BearerAuthenticationFilter.class);
+    private static final String BEARER_PREFIX = "Bearer ";
 
-    private DatabaseUserDetailsService userDetailsService;
+    private ServiceTokenRegistry serviceTokenRegistry;
+    private AuthEventLog authEventLog;
 
     /**
-     * Sets the user details service to be used for loading user data.
+     * Sets the registry used to resolve Bearer tokens to principals.
      *
-     * @param userDetailsService the service to load user-specific data
+     * @param serviceTokenRegistry the registry of known Bearer tokens
      */
     @Autowired
-    public void setUserDetailsService(DatabaseUserDetailsService userDetailsService) {
-        this.userDetailsService = userDetailsService;
+    public void setServiceTokenRegistry(ServiceTokenRegistry serviceTokenRegistry) {
+        this.serviceTokenRegistry = serviceTokenRegistry;
+    }
+
+    /**
+     * Sets the audit log used to record mismatched tokens.
+     *
+     * @param authEventLog the audit log for authentication events
+     */
+    @Autowired
+    public void setAuthEventLog(AuthEventLog authEventLog) {
+        this.authEventLog = authEventLog;
     }
 
     /**
@@ -55,25 +69,20 @@ public class BearerAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         try {
-            String authHeader = request.getHeader("Authorization");
-            if (authHeader != null) {
-                String token = authHeader.replace("Bearer ", "");
-                if (authHeader.startsWith("Bearer ") && token.equals(BEARER_TOKEN)) {
-                    // Load user details using the provided username
-                    UserDetails userDetails = userDetailsService.loadUserByUsername("test@mail.com");
-
-                    UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                            userDetails, null, userDetails.getAuthorities());
-
-                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                    SecurityContextHolder.getContext().setAuthentication(authentication);
+            String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+            if (authHeader != null && authHeader.startsWith(BEARER_PREFIX)) {
+                // Match the token in place against the pre-resolved service principals
+                UserDetails userDetails = serviceTokenRegistry.resolve(authHeader, BEARER_PREFIX.length());
+                if (userDetails != null) {
+                    SecurityContextHolder.getContext().setAuthentication(
+                            UsernamePasswordAuthenticationToken.authenticated(userDetails, null,
+                                    userDetails.getAuthorities()));
                 } else {
-                    logger.error("Bearer token mismatch");
+                    authEventLog.record(AuthEventType.BEARER_MISMATCH, null, request, "Bearer token mismatch");
                 }
             }
         } catch (Exception e) {
-            logger.error("Can't set Bearer user authentication: {}", e);
+            logger.error("Can't set Bearer user authentication: {}", e.getMessage(), e);
         }
 
         filterChain.doFilter(request, response);
@@ -7,15 +7,18 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
-import org.springframework.web.filter.OncePerRequestFilter;
 
-import com.ronbodnar.auth.security.service.DatabaseUserDetailsService;
+import com.ronbodnar.auth.security.model.JwtClaims;
+import com.ronbodnar.auth.security.model.UserPrincipal;
+import com.ronbodnar.auth.security.service.CachedUserDetailsService;
 import com.ronbodnar.auth.security.service.JwtService;
 
 /**
@@ -23,10 +26,12 @@ import com.ronbodnar.auth.security.service.JwtService;
  * This filter extracts the JWT from cookies, validates it, and sets the
  * authentication in the security context if the token is valid.
  */
-public class JwtAuthenticationFilter extends OncePerRequestFilter {
+public class JwtAuthenticationFilter extends TokenAuthenticationFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
     private JwtService jwtService;
-    private DatabaseUserDetailsService userDetailsService;
+    private CachedUserDetailsService userDetailsService;
 
     /**
      * Sets the JWT service to be used for handling JWT operations.
@@ -44,14 +49,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * @param userDetailsService the service to load user-specific data
      */
     @Autowired
-    public void setUserDetailsService(DatabaseUserDetailsService userDetailsService) {
+    public void setUserDetailsService(CachedUserDetailsService userDetailsService) {
         this.userDetailsService = userDetailsService;
     }
 
     /**
      * Filters incoming requests to extract and validate the JWT from cookies.
-     * If the JWT is valid, it retrieves the username and sets the authentication
-     * in the security context.
+     * If the JWT is valid, it builds the principal from the token when it is
+     * self-contained, or loads it by the verified subject otherwise, and sets the
+     * authentication in the security context. Invalid tokens leave the request
+     * unauthenticated.
      *
      * @param request     the incoming HTTP request
      * @param response    the outgoing HTTP response
@@ -66,10 +73,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain) throws ServletException, IOException {
         try {
             String token = jwtService.getFromCookies(request);
-            if (token != null && jwtService.validate(token)) {
-                String username = jwtService.getUsername(token);
-                // Load user details using the username from the token
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            JwtClaims claims = (token != null) ? jwtService.verify(token, request) : null;
+            if (claims != null) {
+                // Rebuild the principal from the token, or load it using the username
+                UserDetails userDetails = jwtService.isSelfContained(claims)
+                        ? UserPrincipal.build(claims)
+                        : userDetailsService.loadUserByUsername(claims.subject());
 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
@@ -79,7 +88,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
             }
         } catch (Exception e) {
-            throw new RuntimeException("Can't set JWT user authentication: {}".formatted(e));
+            logger.debug("Can't set JWT user authentication: {}", e.getMessage());
+            SecurityContextHolder.clearContext();
         }
         // Continue the filter chain
         filterChain.doFilter(request, response);
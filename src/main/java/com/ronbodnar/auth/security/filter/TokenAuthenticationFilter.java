@@ -0,0 +1,40 @@
+package com.ronbodnar.auth.security.filter;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Base class for the token authentication filters.
+ * A filter is skipped entirely for public paths and for requests that an
+ * earlier filter has already authenticated, so at most one filter does token
+ * work per request.
+ */
+public abstract class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private RequestMatcher publicPaths = request -> false;
+
+    /**
+     * Sets the matcher for paths that never require authentication.
+     *
+     * @param publicPaths the matcher for public paths
+     */
+    public void setPublicPaths(RequestMatcher publicPaths) {
+        this.publicPaths = publicPaths;
+    }
+
+    /**
+     * Skips the filter for public paths and already authenticated requests.
+     *
+     * @param request the incoming HTTP request
+     * @return true if the filter should not run for this request
+     */
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return SecurityContextHolder.getContext().getAuthentication() != null
+                || publicPaths.matches(request);
+    }
+}
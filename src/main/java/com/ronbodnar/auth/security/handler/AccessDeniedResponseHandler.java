@@ -1,17 +1,13 @@
 package com.ronbodnar.auth.security.handler;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ronbodnar.auth.security.audit.AuthEventLog;
+import com.ronbodnar.auth.security.audit.AuthEventType;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,10 +19,20 @@ import jakarta.servlet.http.HttpServletResponse;
 @Component
 public class AccessDeniedResponseHandler implements AccessDeniedHandler {
 
-    final Logger logger = LoggerFactory.getLogger(AccessDeniedResponseHandler.class);
+    private final AuthEventLog authEventLog;
+    private final JsonErrorBody body = new JsonErrorBody(HttpServletResponse.SC_UNAUTHORIZED);
 
     /**
-     * Handles the access denied exception by logging the error and sending a JSON
+     * Constructs a new AccessDeniedResponseHandler.
+     *
+     * @param authEventLog the audit log to record denied requests in
+     */
+    public AccessDeniedResponseHandler(AuthEventLog authEventLog) {
+        this.authEventLog = authEventLog;
+    }
+
+    /**
+     * Handles the access denied exception by auditing the error and sending a JSON
      * response
      * to the client with the status and error message.
      *
@@ -40,17 +46,10 @@ public class AccessDeniedResponseHandler implements AccessDeniedHandler {
     @Override
     public void handle(HttpServletRequest request, HttpServletResponse response,
             AccessDeniedException accessDeniedException) throws IOException, ServletException {
-        logger.error("Authorization error: {}", accessDeniedException.getMessage());
-
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-
-        final Map<String, Object> body = new HashMap<>();
-        body.put("status", HttpServletResponse.SC_UNAUTHORIZED);
-        body.put("payload", accessDeniedException.getMessage());
+        authEventLog.record(AuthEventType.ACCESS_DENIED, request.getRemoteUser(), request,
+                accessDeniedException.getMessage());
 
-        // Write the response body as JSON
-        final ObjectMapper mapper = new ObjectMapper();
-        mapper.writeValue(response.getOutputStream(), body);
+        // Write the precomputed JSON body for this message
+        body.write(response, accessDeniedException.getMessage());
     }
 }
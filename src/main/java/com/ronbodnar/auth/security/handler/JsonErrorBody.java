@@ -0,0 +1,89 @@
+package com.ronbodnar.auth.security.handler;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
+/**
+ * Writes the fixed-shape JSON error body used by the security handlers,
+ * {@code {"status":<status>,"payload":<message>}}, without building a map or
+ * running an object mapper. Rejection messages come from a small set of
+ * exception messages, so the encoded bodies are cached per message.
+ */
+final class JsonErrorBody {
+
+    private static final int MAX_CACHED_MESSAGES = 64;
+
+    private final int status;
+    private final byte[] prefix;
+    private final byte[] nullBody;
+    private final Map<String, byte[]> bodies = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new JsonErrorBody for the given status.
+     *
+     * @param status the HTTP status code written in the response and the body
+     */
+    JsonErrorBody(int status) {
+        this.status = status;
+        this.prefix = ("{\"status\":" + status + ",\"payload\":").getBytes(StandardCharsets.UTF_8);
+        this.nullBody = concat(prefix, "null}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Sets the status and content type of the response and writes the body.
+     *
+     * @param response the response to write to
+     * @param message  the message to include as the payload, may be null
+     * @throws IOException if an I/O error occurs while writing the body
+     */
+    void write(HttpServletResponse response, String message) throws IOException {
+        byte[] body = bodyFor(message);
+
+        response.setStatus(status);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private byte[] bodyFor(String message) {
+        if (message == null) {
+            return nullBody;
+        }
+
+        byte[] body = bodies.get(message);
+        if (body == null) {
+            body = encode(message);
+            if (bodies.size() < MAX_CACHED_MESSAGES) {
+                bodies.putIfAbsent(message, body);
+            }
+        }
+        return body;
+    }
+
+    private byte[] encode(String message) {
+        byte[] quoted = JsonStringEncoder.getInstance().quoteAsUTF8(message);
+        byte[] body = new byte[prefix.length + quoted.length + 3];
+
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        body[prefix.length] = '"';
+        System.arraycopy(quoted, 0, body, prefix.length + 1, quoted.length);
+        body[body.length - 2] = '"';
+        body[body.length - 1] = '}';
+        return body;
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+}
@@ -1,20 +1,16 @@
 package com.ronbodnar.auth.security.handler;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.http.MediaType;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ronbodnar.auth.security.audit.AuthEventLog;
+import com.ronbodnar.auth.security.audit.AuthEventType;
 
 /**
  * A custom entry point for handling unauthorized access attempts in a Spring
@@ -23,12 +19,22 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 @Component
 public class UnauthorizedAccessEntryPoint implements AuthenticationEntryPoint {
 
-    private static final Logger logger = LoggerFactory.getLogger(UnauthorizedAccessEntryPoint.class);
+    private final AuthEventLog authEventLog;
+    private final JsonErrorBody body = new JsonErrorBody(HttpServletResponse.SC_UNAUTHORIZED);
+
+    /**
+     * Constructs a new UnauthorizedAccessEntryPoint.
+     *
+     * @param authEventLog the audit log to record rejected requests in
+     */
+    public UnauthorizedAccessEntryPoint(AuthEventLog authEventLog) {
+        this.authEventLog = authEventLog;
+    }
 
     /**
      * Commences the authentication process when an unauthenticated user tries to
      * access a protected resource.
-     * Logs the authentication error and sends a JSON response with the error
+     * Audits the authentication error and sends a JSON response with the error
      * details.
      *
      * @param request       the incoming HTTP request
@@ -40,17 +46,9 @@ public class UnauthorizedAccessEntryPoint implements AuthenticationEntryPoint {
     @Override
     public void commence(HttpServletRequest request, HttpServletResponse response,
             AuthenticationException authException) throws IOException {
-        logger.error("Authentication error: {}", authException.getMessage());
-
-        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-
-        final Map<String, Object> body = new HashMap<>();
-        body.put("status", HttpServletResponse.SC_UNAUTHORIZED);
-        body.put("payload", authException.getMessage());
+        authEventLog.record(AuthEventType.AUTHENTICATION_REQUIRED, null, request, authException.getMessage());
 
-        // Write the response body as JSON
-        final ObjectMapper mapper = new ObjectMapper();
-        mapper.writeValue(response.getOutputStream(), body);
+        // Write the precomputed JSON body for this message
+        body.write(response, authException.getMessage());
     }
 }
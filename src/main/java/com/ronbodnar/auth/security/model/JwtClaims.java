@@ -0,0 +1,30 @@
+package com.ronbodnar.auth.security.model;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The verified contents of a JSON Web Token.
+ * Instances are only created by the JWT service after the signature has been
+ * checked, so consumers can trust every field without parsing the token again.
+ *
+ * @param id        the unique id of the token, or null if the token does not
+ *                  carry it
+ * @param subject   the username the token was issued to
+ * @param userId    the id of the user, or null if the token does not carry it
+ * @param email     the email of the user, or null if the token does not carry
+ *                  it
+ * @param issuedAt  the time the token was issued
+ * @param expiresAt the time the token expires
+ * @param roles     the role names granted to the subject
+ */
+public record JwtClaims(String id, String subject, Integer userId, String email, Instant issuedAt, Instant expiresAt,
+        List<String> roles) {
+
+    /**
+     * Constructs a new JwtClaims, defensively copying the roles.
+     */
+    public JwtClaims {
+        roles = (roles != null) ? List.copyOf(roles) : List.of();
+    }
+}
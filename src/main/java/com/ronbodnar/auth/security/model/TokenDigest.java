@@ -0,0 +1,33 @@
+package com.ronbodnar.auth.security.model;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * A compact, fixed-size key derived from a token, used to index tokens in
+ * caches and stores without retaining the token itself. The key holds the
+ * first 128 bits of the token's SHA-256 hash.
+ *
+ * @param high the first 64 bits of the hash
+ * @param low  the next 64 bits of the hash
+ */
+public record TokenDigest(long high, long low) {
+
+    /**
+     * Computes the digest of the given token.
+     *
+     * @param token the token to digest
+     * @return the digest of the token
+     */
+    public static TokenDigest of(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            return new TokenDigest(buffer.getLong(), buffer.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
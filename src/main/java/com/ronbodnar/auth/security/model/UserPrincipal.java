@@ -1,5 +1,6 @@
 package com.ronbodnar.auth.security.model;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
@@ -12,6 +13,7 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.ronbodnar.auth.user.PrincipalRow;
 import com.ronbodnar.auth.user.User;
 
 /**
@@ -68,6 +70,49 @@ public class UserPrincipal implements UserDetails {
                 authorities);
     }
 
+    /**
+     * Builds a UserPrincipal from the rows of a principal projection query.
+     *
+     * @param rows the rows for a single user, one per role
+     * @return a UserPrincipal representing the authenticated user
+     */
+    public static UserPrincipal build(List<PrincipalRow> rows) {
+        List<GrantedAuthority> authorities = new ArrayList<>(rows.size());
+        for (PrincipalRow row : rows) {
+            if (row.roleName() != null) {
+                authorities.add(new SimpleGrantedAuthority(row.roleName()));
+            }
+        }
+
+        PrincipalRow first = rows.get(0);
+        return new UserPrincipal(
+                first.id(),
+                first.username(),
+                first.email(),
+                first.password(),
+                List.copyOf(authorities));
+    }
+
+    /**
+     * Builds a UserPrincipal from verified JWT claims without consulting the
+     * database. The resulting principal carries no password.
+     *
+     * @param claims the verified claims containing the user id, email and roles
+     * @return a UserPrincipal representing the authenticated user
+     */
+    public static UserPrincipal build(JwtClaims claims) {
+        List<GrantedAuthority> authorities = claims.roles().stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role))
+                .toList();
+
+        return new UserPrincipal(
+                claims.userId(),
+                claims.subject(),
+                claims.email(),
+                null,
+                authorities);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
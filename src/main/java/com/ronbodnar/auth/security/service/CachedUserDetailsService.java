@@ -0,0 +1,51 @@
+package com.ronbodnar.auth.security.service;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import com.ronbodnar.auth.security.cache.UserPrincipalCache;
+
+/**
+ * Implementation of UserDetailsService that serves user details from the
+ * principal cache and falls back to the database on a miss.
+ * Used by the token filters; password logins always go to the database.
+ */
+@Service
+public class CachedUserDetailsService implements UserDetailsService {
+
+    private final DatabaseUserDetailsService databaseUserDetailsService;
+    private final UserPrincipalCache userPrincipalCache;
+
+    /**
+     * Constructs a new CachedUserDetailsService.
+     *
+     * @param databaseUserDetailsService the service used to load user details on
+     *                                   a cache miss
+     * @param userPrincipalCache         the cache holding loaded principals
+     */
+    public CachedUserDetailsService(DatabaseUserDetailsService databaseUserDetailsService,
+            UserPrincipalCache userPrincipalCache) {
+        this.databaseUserDetailsService = databaseUserDetailsService;
+        this.userPrincipalCache = userPrincipalCache;
+    }
+
+    /**
+     * Loads a user by username, consulting the cache first.
+     *
+     * @param username the username of the user to load
+     * @return a UserDetails object containing user information
+     * @throws UsernameNotFoundException if the user with the specified username is
+     *                                   not found
+     */
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails userDetails = userPrincipalCache.getUserFromCache(username);
+        if (userDetails == null) {
+            userDetails = databaseUserDetailsService.loadUserByUsername(username);
+            userPrincipalCache.putUserInCache(userDetails);
+        }
+        return userDetails;
+    }
+}
@@ -1,37 +1,49 @@
 package com.ronbodnar.auth.security.service;
 
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.ronbodnar.auth.exception.GenericException;
+import com.ronbodnar.auth.security.cache.UserPrincipalCache;
 import com.ronbodnar.auth.security.model.UserPrincipal;
-import com.ronbodnar.auth.user.User;
+import com.ronbodnar.auth.user.PrincipalRow;
 import com.ronbodnar.auth.user.UserRepository;
 
 /**
  * Implementation of UserDetailsService that retrieves user details from a
- * database.
+ * database. Also stores rehashed passwords when a login upgrades an outdated
+ * hash.
  */
 @Service
-public class DatabaseUserDetailsService implements UserDetailsService {
+public class DatabaseUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseUserDetailsService.class);
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
 
     /**
      * Constructs a new DatabaseUserDetailsService.
      *
-     * @param userRepository the UserRepository used to fetch user details from the
-     *                       database
+     * @param userRepository     the UserRepository used to fetch user details from
+     *                           the database
+     * @param userPrincipalCache the cache to evict when a password changes
      */
-    public DatabaseUserDetailsService(UserRepository userRepository) {
+    public DatabaseUserDetailsService(UserRepository userRepository, UserPrincipalCache userPrincipalCache) {
         this.userRepository = userRepository;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     /**
-     * Loads a user by username.
+     * Loads a user by username. The user and its role names are read with a
+     * single projection query, so no entity or lazy collection is initialized.
      *
      * @param username the username of the user to load
      * @return a UserDetails object containing user information
@@ -39,17 +51,39 @@ public class DatabaseUserDetailsService implements UserDetailsService {
      *                                   not found
      */
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username).orElseThrow(() -> new GenericException());
+        List<PrincipalRow> rows = userRepository.findPrincipalRowsByUsername(username);
 
-        if (user == null) {
+        if (rows.isEmpty()) {
             throw new UsernameNotFoundException("User not found with username: " + username);
         }
 
-        System.out.println("User loaded: ");
-        System.out.println(user);
+        logger.debug("Loaded user {} with {} role rows", username, rows.size());
 
-        return UserPrincipal.build(user);
+        return UserPrincipal.build(rows);
+    }
+
+    /**
+     * Stores a rehashed password for the user. Called after a successful login
+     * when the stored hash uses an outdated algorithm or a lower BCrypt cost.
+     *
+     * @param user        the authenticated user
+     * @param newPassword the new password hash
+     * @return the user with the new password hash
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByUsername(user.getUsername(), newPassword);
+        userPrincipalCache.removeUserFromCache(user.getUsername());
+
+        logger.debug("Upgraded password hash for user {}", user.getUsername());
+
+        if (user instanceof UserPrincipal principal) {
+            return new UserPrincipal(principal.getId(), principal.getUsername(), principal.getEmail(), newPassword,
+                    principal.getAuthorities());
+        }
+        return loadUserByUsername(user.getUsername());
     }
 }
@@ -0,0 +1,102 @@
+package com.ronbodnar.auth.security.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+
+/**
+ * A cheap structural check that rejects tokens which cannot possibly be valid
+ * JWTs before any signature or JSON work is done. It checks the length bounds,
+ * that there are exactly three non-empty base64url segments, and that the
+ * header names one of the expected signing algorithms. It never throws.
+ */
+final class JwtPrecheck {
+
+    private static final int MIN_LENGTH = 16;
+    private static final int MAX_HEADER_LENGTH = 512;
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final int maxLength;
+    private final Set<String> algorithms;
+
+    /**
+     * Constructs a new JwtPrecheck.
+     *
+     * @param maxLength  the maximum accepted token length
+     * @param algorithms the accepted values of the header's {@code alg} field
+     */
+    JwtPrecheck(int maxLength, Set<String> algorithms) {
+        this.maxLength = maxLength;
+        this.algorithms = Set.copyOf(algorithms);
+    }
+
+    /**
+     * Checks whether the given token is structurally a signed JWT.
+     *
+     * @param token the token to check
+     * @return true if the token is worth verifying, false if it is garbage
+     */
+    boolean isPlausible(String token) {
+        int length = token.length();
+        if (length < MIN_LENGTH || length > maxLength) {
+            return false;
+        }
+
+        int firstDot = -1;
+        int secondDot = -1;
+        for (int i = 0; i < length; i++) {
+            char c = token.charAt(i);
+            if (c == '.') {
+                if (firstDot < 0) {
+                    firstDot = i;
+                } else if (secondDot < 0) {
+                    secondDot = i;
+                } else {
+                    return false;
+                }
+            } else if (!isBase64Url(c)) {
+                return false;
+            }
+        }
+
+        if (firstDot <= 0 || secondDot <= firstDot + 1 || secondDot == length - 1) {
+            return false;
+        }
+        return hasExpectedAlgorithm(token, firstDot);
+    }
+
+    private boolean hasExpectedAlgorithm(String token, int headerLength) {
+        if (headerLength > MAX_HEADER_LENGTH || headerLength % 4 == 1) {
+            return false;
+        }
+
+        String header = new String(DECODER.decode(token.substring(0, headerLength)), StandardCharsets.ISO_8859_1);
+        int key = header.indexOf("\"alg\"");
+        if (key < 0) {
+            return false;
+        }
+
+        int i = skipWhitespace(header, key + 5);
+        if (i >= header.length() || header.charAt(i) != ':') {
+            return false;
+        }
+        i = skipWhitespace(header, i + 1);
+        if (i >= header.length() || header.charAt(i) != '"') {
+            return false;
+        }
+
+        int end = header.indexOf('"', i + 1);
+        return end > 0 && algorithms.contains(header.substring(i + 1, end));
+    }
+
+    private static int skipWhitespace(String value, int index) {
+        while (index < value.length() && Character.isWhitespace(value.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isBase64Url(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+}
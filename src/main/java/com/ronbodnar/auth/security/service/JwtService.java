@@ -1,23 +1,42 @@
 package com.ronbodnar.auth.security.service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
 import java.security.Key;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseCookie;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.WebUtils;
 
+import com.ronbodnar.auth.security.audit.AuthEventLog;
+import com.ronbodnar.auth.security.audit.AuthEventType;
+import com.ronbodnar.auth.security.cache.RejectedTokenCache;
+import com.ronbodnar.auth.security.cache.VerifiedTokenCache;
+import com.ronbodnar.auth.security.model.JwtClaims;
+import com.ronbodnar.auth.security.model.TokenDigest;
 import com.ronbodnar.auth.security.model.UserPrincipal;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 
 /**
  * Service for managing JSON Web Tokens (JWT) for authentication.
@@ -27,12 +46,153 @@ public class JwtService {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtService.class);
     private static final String COOKIE_NAME = "auth";
+    private static final String ROLES_CLAIM = "roles";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String EMAIL_CLAIM = "email";
+
+    private final RejectedTokenCache rejectedTokenCache;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final AuthEventLog authEventLog;
+    private final TokenRevocationService tokenRevocationService;
 
     @Value("${com.ronbodnar.auth.security.jwt.secret}")
     private String secret;
 
-    @Value("${com.ronbodnar.auth.security.jwt.expiration}")
-    private long expirationTime;
+    @Value("${com.ronbodnar.auth.security.jwt.expiration:15m}")
+    private Duration expiration;
+
+    @Value("${com.ronbodnar.auth.security.jwt.algorithm:HS256}")
+    private String algorithm;
+
+    @Value("${com.ronbodnar.auth.security.jwt.key-store:}")
+    private String keyStoreLocation;
+
+    @Value("${com.ronbodnar.auth.security.jwt.key-store-password:}")
+    private String keyStorePassword;
+
+    @Value("${com.ronbodnar.auth.security.jwt.signing-key-alias:}")
+    private String signingKeyAlias;
+
+    @Value("${com.ronbodnar.auth.security.jwt.max-length:4096}")
+    private int maxTokenLength;
+
+    @Value("${com.ronbodnar.auth.security.jwt.stateless.enabled:false}")
+    private boolean statelessEnabled;
+
+    @Value("${com.ronbodnar.auth.security.jwt.stateless.max-age:3600}")
+    private long statelessMaxAge;
+
+    /**
+     * The signing keys and the parser bound to them. Both are immutable and
+     * thread-safe, so they are built once and swapped together on key change.
+     */
+    private volatile SigningContext signingContext;
+
+    private JwtPrecheck precheck;
+
+    /**
+     * The fixed parts of the Set-Cookie header, built once so that issuing a
+     * cookie only concatenates the token between them.
+     */
+    private String cookiePrefix;
+    private String cookieAttributes;
+    private String clearCookieHeader;
+
+    /**
+     * Constructs a new JwtService.
+     *
+     * @param rejectedTokenCache     the cache of recently rejected tokens
+     * @param verifiedTokenCache     the cache of already verified tokens
+     * @param authEventLog           the audit log to record rejected tokens in
+     * @param tokenRevocationService the list of revoked tokens
+     */
+    public JwtService(RejectedTokenCache rejectedTokenCache, VerifiedTokenCache verifiedTokenCache,
+            AuthEventLog authEventLog, TokenRevocationService tokenRevocationService) {
+        this.rejectedTokenCache = rejectedTokenCache;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.authEventLog = authEventLog;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    /**
+     * Builds the signing keys and parser for the configured algorithm. HS256
+     * uses the configured secret; asymmetric algorithms load their keys from
+     * the shared keystore and publish the public keys through the JWKS.
+     */
+    @PostConstruct
+    void init() {
+        SignatureAlgorithm signatureAlgorithm = SignatureAlgorithm.forName(algorithm);
+        SigningKeyRing ring;
+        if (signatureAlgorithm == SignatureAlgorithm.HS256) {
+            ring = SigningKeyRing.ofSecret(secret);
+        } else if (signatureAlgorithm.isHmac()) {
+            throw new IllegalArgumentException("Unsupported JWT algorithm: " + algorithm);
+        } else {
+            ring = loadKeyRing(signatureAlgorithm);
+        }
+
+        this.signingContext = SigningContext.of(ring);
+        this.precheck = new JwtPrecheck(maxTokenLength, Set.of(signatureAlgorithm.getValue()));
+        this.cookiePrefix = COOKIE_NAME + "=";
+        this.cookieAttributes = cookieAttributes(expiration.toSeconds());
+        this.clearCookieHeader = cookiePrefix + cookieAttributes(0);
+    }
+
+    /**
+     * Replaces the signing secret, rebuilding the cached key and parser.
+     * Tokens signed with the previous secret will no longer validate.
+     *
+     * @param secret the new base64-encoded signing secret
+     * @throws IllegalStateException if the service does not sign with HS256
+     */
+    public void setSecret(String secret) {
+        if (!signingContext.ring().algorithm().isHmac()) {
+            throw new IllegalStateException("A secret is only used with HS256");
+        }
+        this.signingContext = SigningContext.of(SigningKeyRing.ofSecret(secret));
+        this.secret = secret;
+        verifiedTokenCache.invalidateAll();
+    }
+
+    /**
+     * Reloads the signing keys of asymmetric algorithms from the keystore, so
+     * that keys added, promoted or removed there are picked up by every
+     * instance without a restart. A keystore that cannot be read leaves the
+     * current keys in place. HS256 keys are not reloaded.
+     */
+    @Scheduled(fixedDelayString = "${com.ronbodnar.auth.security.jwt.key-reload-interval:PT5M}",
+            initialDelayString = "${com.ronbodnar.auth.security.jwt.key-reload-interval:PT5M}")
+    public void reloadKeys() {
+        SigningKeyRing ring = signingContext.ring();
+        if (ring.algorithm().isHmac()) {
+            return;
+        }
+
+        SigningKeyRing reloaded;
+        try {
+            reloaded = loadKeyRing(ring.algorithm());
+        } catch (RuntimeException e) {
+            logger.warn("Could not reload the JWT keystore, keeping the current keys", e);
+            return;
+        }
+
+        if (!reloaded.jwksEtag().equals(ring.jwksEtag())
+                || !reloaded.current().id().equals(ring.current().id())) {
+            this.signingContext = SigningContext.of(reloaded);
+            verifiedTokenCache.invalidateAll();
+            logger.info("Reloaded JWT signing keys, now signing with {}", reloaded.current().id());
+        }
+    }
+
+    /**
+     * Retrieves the current signing keys, whose public part is published as a
+     * JSON Web Key Set.
+     *
+     * @return the key ring
+     */
+    public SigningKeyRing getKeyRing() {
+        return signingContext.ring();
+    }
 
     /**
      * Retrieves the JWT from cookies in the HTTP request.
@@ -65,14 +225,36 @@ public class JwtService {
      * @return a ResponseCookie containing the authentication token
      */
     public ResponseCookie buildCookie(UserPrincipal userPrincipal) {
-        String jwt = buildTokenFromUsername(userPrincipal.getUsername());
+        String jwt = buildToken(userPrincipal);
         return ResponseCookie.from(COOKIE_NAME, jwt)
                 .path("/")
-                .maxAge(24 * 60 * 60) // 1 day
+                .maxAge(expiration)
                 .httpOnly(true)
                 .build();
     }
 
+    /**
+     * Builds the Set-Cookie header value carrying a new JWT for the specified
+     * user. Equivalent to {@link #buildCookie(UserPrincipal)}, but only the
+     * token is formatted per call.
+     *
+     * @param userPrincipal the user details for whom the JWT is created
+     * @return the Set-Cookie header value
+     */
+    public String buildCookieHeader(UserPrincipal userPrincipal) {
+        return cookiePrefix + buildToken(userPrincipal) + cookieAttributes;
+    }
+
+    /**
+     * Retrieves the Set-Cookie header value that clears the authentication
+     * token.
+     *
+     * @return the Set-Cookie header value
+     */
+    public String getClearCookieHeader() {
+        return clearCookieHeader;
+    }
+
     /**
      * Retrieves the username from the specified JWT.
      *
@@ -81,9 +263,7 @@ public class JwtService {
      * @throws JwtException if the token is invalid
      */
     public String getUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build()
+        return signingContext.parser()
                 .parseClaimsJws(token)
                 .getBody()
                 .getSubject();
@@ -96,13 +276,117 @@ public class JwtService {
      * @return true if the token is valid, false otherwise
      */
     public boolean validate(String authToken) {
-        try {
-            Jwts.parserBuilder().setSigningKey(getKey()).build().parse(authToken);
-            return true;
-        } catch (JwtException e) {
-            logger.error("JWT validation error: {}", e.getMessage());
+        return verify(authToken) != null;
+    }
+
+    /**
+     * Verifies the signature of the given JWT and returns its claims.
+     * Structurally invalid tokens are rejected without any cryptographic work;
+     * others are decoded, checked and parsed exactly once.
+     *
+     * @param token the JWT to verify
+     * @return the verified claims, or null if the token is invalid
+     */
+    public JwtClaims verify(String token) {
+        return verify(token, null);
+    }
+
+    /**
+     * Verifies the signature of the given JWT and returns its claims, recording
+     * an audit event for the request when the token is rejected. Tokens that
+     * were verified or rejected recently are answered from a cache; repeated
+     * rejections are not recorded again. Revoked tokens are rejected even when
+     * their claims are cached.
+     *
+     * @param token   the JWT to verify
+     * @param request the request carrying the token, or null
+     * @return the verified claims, or null if the token is invalid
+     */
+    public JwtClaims verify(String token, HttpServletRequest request) {
+        if (!precheck.isPlausible(token)) {
+            recordRejection(request, "Malformed JWT");
+            return null;
+        }
+
+        TokenDigest digest = TokenDigest.of(token);
+        JwtClaims claims = verifiedTokenCache.get(digest);
+        if (claims == null) {
+            if (rejectedTokenCache.contains(digest)) {
+                return null;
+            }
+
+            try {
+                claims = toJwtClaims(signingContext.parser().parseClaimsJws(token).getBody());
+                verifiedTokenCache.put(digest, claims);
+            } catch (JwtException | IllegalArgumentException e) {
+                logger.debug("JWT validation error: {}", e.getMessage());
+                rejectedTokenCache.add(digest);
+                recordRejection(request, e.getMessage());
+                return null;
+            }
+        }
+
+        if (tokenRevocationService.isRevoked(claims.id())) {
+            recordRejection(request, "Revoked JWT");
+            return null;
+        }
+        return claims;
+    }
+
+    /**
+     * Revokes the token with the given claims until it expires.
+     *
+     * @param claims the verified claims of the token
+     */
+    public void revoke(JwtClaims claims) {
+        tokenRevocationService.revoke(claims.id(), claims.expiresAt());
+    }
+
+    /**
+     * Checks whether the principal can be rebuilt from the given claims alone.
+     * This is the case when stateless mode is enabled, the token carries the
+     * user id and email, and it is younger than the configured maximum age.
+     * Older tokens fall back to a database lookup so that role and account
+     * changes are eventually picked up.
+     *
+     * @param claims the verified claims
+     * @return true if the claims are sufficient to build the principal
+     */
+    public boolean isSelfContained(JwtClaims claims) {
+        if (!statelessEnabled || claims.userId() == null || claims.email() == null || claims.issuedAt() == null) {
+            return false;
+        }
+        return claims.issuedAt().plusSeconds(statelessMaxAge).isAfter(Instant.now());
+    }
+
+    /**
+     * Builds a JWT for the specified user, including the user's role names.
+     * When stateless mode is enabled, the user id and email are embedded as
+     * well so the principal can be rebuilt without a database lookup.
+     *
+     * @param userPrincipal the user for whom the JWT is created
+     * @return the generated JWT as a string
+     */
+    public String buildToken(UserPrincipal userPrincipal) {
+        List<String> roles = new ArrayList<>(userPrincipal.getAuthorities().size());
+        userPrincipal.getAuthorities().forEach(authority -> roles.add(authority.getAuthority()));
+
+        SigningKeyRing.SigningKey signingKey = signingContext.ring().current();
+        JwtBuilder builder = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.id())
+                .setSubject(userPrincipal.getUsername())
+                .claim(ROLES_CLAIM, roles);
+        if (statelessEnabled) {
+            builder.claim(USER_ID_CLAIM, userPrincipal.getId())
+                    .claim(EMAIL_CLAIM, userPrincipal.getEmail());
         }
-        return false;
+
+        return builder
+                .setId(UUID.randomUUID().toString())
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + expiration.toMillis()))
+                .signWith(signingKey.signingKey(), signingKey.algorithm())
+                .compact();
     }
 
     /**
@@ -112,20 +396,101 @@ public class JwtService {
      * @return the generated JWT as a string
      */
     public String buildTokenFromUsername(String username) {
+        SigningKeyRing.SigningKey signingKey = signingContext.ring().current();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.id())
                 .setSubject(username)
+                .setId(UUID.randomUUID().toString())
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(getKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + expiration.toMillis()))
+                .signWith(signingKey.signingKey(), signingKey.algorithm())
                 .compact();
     }
 
     /**
-     * Retrieves the signing key for JWT.
+     * Formats the cookie attributes that follow the value, without the
+     * Expires date so the string stays valid for the life of the service.
+     *
+     * @param maxAge the cookie lifetime in seconds
+     * @return the attributes, starting with a separator
+     */
+    private SigningKeyRing loadKeyRing(SignatureAlgorithm signatureAlgorithm) {
+        if (keyStoreLocation.isBlank() || signingKeyAlias.isBlank()) {
+            throw new IllegalStateException(signatureAlgorithm.getValue()
+                    + " requires com.ronbodnar.auth.security.jwt.key-store and signing-key-alias");
+        }
+
+        char[] password = keyStorePassword.toCharArray();
+        Resource resource = new DefaultResourceLoader().getResource(keyStoreLocation);
+        try (InputStream in = resource.getInputStream()) {
+            KeyStore keyStore = KeyStore.getInstance("PKCS12");
+            keyStore.load(in, password);
+            return SigningKeyRing.fromKeyStore(keyStore, password, signingKeyAlias, signatureAlgorithm);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Could not load the JWT keystore from " + keyStoreLocation, e);
+        }
+    }
+
+    private static String cookieAttributes(long maxAge) {
+        return "; Path=/; Max-Age=" + maxAge + "; HttpOnly";
+    }
+
+    private void recordRejection(HttpServletRequest request, String detail) {
+        if (request != null) {
+            authEventLog.record(AuthEventType.TOKEN_REJECTED, null, request, detail);
+        }
+    }
+
+    /**
+     * Converts parsed jjwt claims into an immutable JwtClaims.
      *
-     * @return the signing key
+     * @param claims the verified claims
+     * @return the typed claims
      */
-    private Key getKey() {
-        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+    private static JwtClaims toJwtClaims(Claims claims) {
+        List<String> roles = List.of();
+        if (claims.get(ROLES_CLAIM) instanceof Collection<?> values) {
+            roles = new ArrayList<>(values.size());
+            for (Object value : values) {
+                roles.add(String.valueOf(value));
+            }
+        }
+
+        Integer userId = (claims.get(USER_ID_CLAIM) instanceof Number id) ? id.intValue() : null;
+
+        return new JwtClaims(
+                claims.getId(),
+                claims.getSubject(),
+                userId,
+                claims.get(EMAIL_CLAIM, String.class),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()),
+                roles);
+    }
+
+    private static Instant toInstant(Date date) {
+        return (date != null) ? date.toInstant() : null;
+    }
+
+    /**
+     * Holds the key ring together with a parser that looks up verification
+     * keys in it by kid.
+     *
+     * @param ring   the signing keys
+     * @param parser the parser that verifies tokens against the ring
+     */
+    private record SigningContext(SigningKeyRing ring, JwtParser parser) {
+
+        static SigningContext of(SigningKeyRing ring) {
+            JwtParser parser = Jwts.parserBuilder()
+                    .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                        @Override
+                        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                            return ring.resolve(header.getKeyId(), header.getAlgorithm());
+                        }
+                    })
+                    .build();
+            return new SigningContext(ring, parser);
+        }
     }
 }
@@ -0,0 +1,231 @@
+package com.ronbodnar.auth.security.service;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.WebUtils;
+
+import com.ronbodnar.auth.security.audit.AuthEventLog;
+import com.ronbodnar.auth.security.audit.AuthEventType;
+import com.ronbodnar.auth.security.model.TokenDigest;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Issues and rotates opaque refresh tokens. Only a digest of each token is
+ * kept, mapped to the user, the token family and the expiry. Every refresh
+ * marks the presented token as used and issues a new one in the same family;
+ * presenting a used token again revokes the whole family, since either the
+ * client or an attacker holds a stolen copy. Expired entries are purged by a
+ * background sweep, so access-token requests never touch this store.
+ */
+@Service
+public class RefreshTokenService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final String COOKIE_NAME = "refresh";
+    private static final String COOKIE_PATH = "/auth";
+    private static final int TOKEN_BYTES = 32;
+
+    private final Map<TokenDigest, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Long> revokedFamilies = new ConcurrentHashMap<>();
+    private final AtomicLong familySequence = new AtomicLong();
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+
+    private final AuthEventLog authEventLog;
+    private final long ttlMillis;
+    private final String cookiePrefix;
+    private final String cookieAttributes;
+    private final String clearCookieHeader;
+
+    /**
+     * Constructs a new RefreshTokenService.
+     *
+     * @param authEventLog the audit log to record reused tokens in
+     * @param ttl          how long a refresh token stays valid after it is
+     *                     issued
+     */
+    public RefreshTokenService(AuthEventLog authEventLog,
+            @Value("${com.ronbodnar.auth.security.refresh.ttl:7d}") Duration ttl) {
+        this.authEventLog = authEventLog;
+        this.ttlMillis = ttl.toMillis();
+        this.cookiePrefix = COOKIE_NAME + "=";
+        this.cookieAttributes = "; Path=" + COOKIE_PATH + "; Max-Age=" + ttl.toSeconds() + "; HttpOnly";
+        this.clearCookieHeader = cookiePrefix + "; Path=" + COOKIE_PATH + "; Max-Age=0; HttpOnly";
+    }
+
+    /**
+     * Issues a refresh token that starts a new family, typically on login.
+     *
+     * @param username the user the token belongs to
+     * @return the opaque token
+     */
+    public String issue(String username) {
+        return issue(username, familySequence.incrementAndGet());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family. A token that
+     * was already used revokes its family and is rejected, as does any token
+     * of a revoked family.
+     *
+     * @param token   the presented refresh token
+     * @param request the request carrying the token, used for auditing
+     * @return the new token and its user, or null if the token is not valid
+     */
+    public RotatedToken rotate(String token, HttpServletRequest request) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        TokenDigest digest = TokenDigest.of(token);
+        Entry entry = entries.get(digest);
+        if (entry == null || entry.expiresAt() <= System.currentTimeMillis()
+                || revokedFamilies.containsKey(entry.familyId())) {
+            return null;
+        }
+
+        if (entry.used() || !entries.replace(digest, entry, entry.markUsed())) {
+            revokeFamily(entry.familyId());
+            authEventLog.record(AuthEventType.REFRESH_TOKEN_REUSED, entry.username(), request,
+                    "Family " + entry.familyId() + " revoked");
+            return null;
+        }
+
+        return new RotatedToken(issue(entry.username(), entry.familyId()), entry.username());
+    }
+
+    /**
+     * Revokes the family of the given refresh token, typically on logout.
+     * Unknown tokens are ignored.
+     *
+     * @param token the presented refresh token, or null
+     */
+    public void revoke(String token) {
+        if (token == null || token.isEmpty()) {
+            return;
+        }
+
+        Entry entry = entries.remove(TokenDigest.of(token));
+        if (entry != null) {
+            revokeFamily(entry.familyId());
+        }
+    }
+
+    /**
+     * Retrieves the refresh token from cookies in the HTTP request.
+     *
+     * @param request the HTTP request containing cookies
+     * @return the refresh token, or null if no cookie is found
+     */
+    public String getFromCookies(HttpServletRequest request) {
+        Cookie cookie = WebUtils.getCookie(request, COOKIE_NAME);
+        return (cookie != null) ? cookie.getValue() : null;
+    }
+
+    /**
+     * Builds the Set-Cookie header value carrying the given refresh token. The
+     * cookie is only sent to the authentication endpoints.
+     *
+     * @param token the refresh token
+     * @return the Set-Cookie header value
+     */
+    public String buildCookieHeader(String token) {
+        return cookiePrefix + token + cookieAttributes;
+    }
+
+    /**
+     * Retrieves the Set-Cookie header value that clears the refresh token.
+     *
+     * @return the Set-Cookie header value
+     */
+    public String getClearCookieHeader() {
+        return clearCookieHeader;
+    }
+
+    /**
+     * Removes expired tokens and the revocation markers of families whose
+     * tokens have all expired.
+     */
+    @Scheduled(fixedDelayString = "${com.ronbodnar.auth.security.refresh.sweep-interval:PT1M}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+
+        entries.values().removeIf(entry -> entry.expiresAt() <= now);
+        revokedFamilies.values().removeIf(expiresAt -> expiresAt <= now);
+
+        logger.debug("Swept {} expired refresh tokens", before - entries.size());
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("auth.refresh.tokens", entries, Map::size)
+                .description("Refresh tokens held in memory, including used ones")
+                .register(registry);
+        Gauge.builder("auth.refresh.revoked.families", revokedFamilies, Map::size)
+                .description("Revoked refresh token families not yet expired")
+                .register(registry);
+    }
+
+    private String issue(String username, long familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = encoder.encodeToString(bytes);
+
+        entries.put(TokenDigest.of(token),
+                new Entry(username, familyId, System.currentTimeMillis() + ttlMillis, false));
+        return token;
+    }
+
+    /**
+     * Marks the family as revoked for as long as any of its tokens can still
+     * be valid.
+     *
+     * @param familyId the family to revoke
+     */
+    private void revokeFamily(long familyId) {
+        revokedFamilies.put(familyId, System.currentTimeMillis() + ttlMillis);
+    }
+
+    /**
+     * A newly issued refresh token and the user it belongs to.
+     *
+     * @param token    the new refresh token
+     * @param username the user the token belongs to
+     */
+    public record RotatedToken(String token, String username) {
+    }
+
+    /**
+     * The stored state of a refresh token.
+     *
+     * @param username  the user the token belongs to
+     * @param familyId  the family the token was issued in
+     * @param expiresAt the expiry in epoch milliseconds
+     * @param used      whether the token was already exchanged
+     */
+    private record Entry(String username, long familyId, long expiresAt, boolean used) {
+
+        Entry markUsed() {
+            return new Entry(username, familyId, expiresAt, true);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.ronbodnar.auth.security.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import com.ronbodnar.auth.security.model.UserPrincipal;
+
+/**
+ * Registry of static Bearer tokens used for machine-to-machine calls.
+ * Each token is stored only as its SHA-256 digest and maps to a principal that
+ * is resolved once, so matching a request costs no database lookup. Presented
+ * tokens are compared against every entry in constant time.
+ */
+@Component
+public class ServiceTokenRegistry {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServiceTokenRegistry.class);
+    private static final String SERVICE_ROLE = "ROLE_SERVICE";
+    private static final int DIGEST_LENGTH = 32;
+
+    private static final ThreadLocal<DigestBuffer> DIGEST_BUFFERS = ThreadLocal.withInitial(DigestBuffer::new);
+
+    private final String legacyToken;
+    private final String legacyUsername;
+    private final DatabaseUserDetailsService databaseUserDetailsService;
+
+    private volatile List<Entry> entries;
+
+    /**
+     * Constructs a new ServiceTokenRegistry.
+     *
+     * @param legacyToken                the Bearer token that authenticates as a
+     *                                   database user
+     * @param legacyUsername             the username of that database user
+     * @param serviceTokens              service tokens as {@code name:token}
+     *                                   pairs, each authenticating as a service
+     *                                   principal with that name
+     * @param databaseUserDetailsService the service used to resolve the database
+     *                                   user once at startup
+     */
+    public ServiceTokenRegistry(
+            @Value("${com.ronbodnar.auth.security.bearer.token:}") String legacyToken,
+            @Value("${com.ronbodnar.auth.security.bearer.username:test@mail.com}") String legacyUsername,
+            @Value("${com.ronbodnar.auth.security.bearer.service-tokens:}") List<String> serviceTokens,
+            DatabaseUserDetailsService databaseUserDetailsService) {
+        this.legacyToken = legacyToken;
+        this.legacyUsername = legacyUsername;
+        this.databaseUserDetailsService = databaseUserDetailsService;
+
+        List<Entry> configured = new ArrayList<>();
+        for (String serviceToken : serviceTokens) {
+            int separator = serviceToken.indexOf(':');
+            if (separator <= 0 || separator == serviceToken.length() - 1) {
+                continue;
+            }
+            String name = serviceToken.substring(0, separator).trim();
+            String token = serviceToken.substring(separator + 1).trim();
+            UserPrincipal principal = new UserPrincipal(-(configured.size() + 1), name, null, null,
+                    List.of(new SimpleGrantedAuthority(SERVICE_ROLE)));
+            configured.add(new Entry(digest(token), principal));
+        }
+        this.entries = List.copyOf(configured);
+    }
+
+    /**
+     * Resolves the database user behind the legacy Bearer token once the
+     * application has started and the user store is populated.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resolveLegacyToken() {
+        if (legacyToken == null || legacyToken.isBlank()) {
+            return;
+        }
+
+        try {
+            UserDetails principal = databaseUserDetailsService.loadUserByUsername(legacyUsername);
+            List<Entry> resolved = new ArrayList<>(entries);
+            resolved.add(new Entry(digest(legacyToken), principal));
+            this.entries = List.copyOf(resolved);
+        } catch (UsernameNotFoundException e) {
+            logger.warn("Bearer token user {} not found; the legacy Bearer token is disabled", legacyUsername);
+        }
+    }
+
+    /**
+     * Resolves the principal for the token in an Authorization header value.
+     * The token is read in place after the prefix, without copying the header.
+     *
+     * @param header the Authorization header value
+     * @param offset the index at which the token starts
+     * @return the principal for the token, or null if no token matches
+     */
+    public UserDetails resolve(String header, int offset) {
+        DigestBuffer buffer = DIGEST_BUFFERS.get();
+        byte[] presented = buffer.digest(header, offset);
+
+        UserDetails match = null;
+        for (Entry entry : entries) {
+            // No early exit, so the time taken does not reveal which entry matched
+            if (MessageDigest.isEqual(entry.digest(), presented)) {
+                match = entry.principal();
+            }
+        }
+        return match;
+    }
+
+    private static byte[] digest(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.ISO_8859_1));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A configured token digest and the principal it authenticates as.
+     *
+     * @param digest    the SHA-256 digest of the token
+     * @param principal the principal the token authenticates as
+     */
+    private record Entry(byte[] digest, UserDetails principal) {
+    }
+
+    /**
+     * A per-thread digest and output buffer, so hashing a presented token does
+     * not allocate.
+     */
+    private static final class DigestBuffer {
+
+        private final MessageDigest sha256;
+        private final byte[] output = new byte[DIGEST_LENGTH];
+
+        DigestBuffer() {
+            try {
+                this.sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+
+        byte[] digest(String value, int offset) {
+            for (int i = offset; i < value.length(); i++) {
+                sha256.update((byte) value.charAt(i));
+            }
+            try {
+                sha256.digest(output, 0, DIGEST_LENGTH);
+            } catch (DigestException e) {
+                throw new IllegalStateException(e);
+            }
+            return output;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.ronbodnar.auth.security.service;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * An immutable set of JWT signing keys, each identified by a {@code kid}.
+ * One key signs new tokens; the others only verify. Asymmetric keys are read
+ * from a keystore that every instance shares, so all instances sign with the
+ * same key and publish the same JWKS. Rotation is done in the keystore: a
+ * new key is added and published before it is made the signing key, and the
+ * old key is removed once the tokens it signed have expired. Reloading
+ * builds a new ring rather than changing this one.
+ */
+public final class SigningKeyRing {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final SignatureAlgorithm algorithm;
+    private final SigningKey current;
+    private final List<SigningKey> verificationOnly;
+    private final Map<String, SigningKey> keysById;
+    private final String jwksJson;
+    private final String jwksEtag;
+
+    private SigningKeyRing(SignatureAlgorithm algorithm, SigningKey current, List<SigningKey> verificationOnly) {
+        this.algorithm = algorithm;
+        this.current = current;
+        this.verificationOnly = List.copyOf(verificationOnly);
+
+        Map<String, SigningKey> keys = new HashMap<>();
+        keys.put(current.id(), current);
+        verificationOnly.forEach(key -> keys.put(key.id(), key));
+        this.keysById = Map.copyOf(keys);
+
+        this.jwksJson = toJwks(algorithm.isHmac() ? List.of() : new ArrayList<>(keys.values()));
+        this.jwksEtag = etag(jwksJson);
+    }
+
+    /**
+     * Creates a ring holding a single HMAC key derived from a shared secret.
+     * The key id is derived from the secret, so every instance sharing the
+     * secret agrees on it.
+     *
+     * @param secret the base64-encoded secret
+     * @return the ring
+     */
+    static SigningKeyRing ofSecret(String secret) {
+        byte[] bytes = Decoders.BASE64.decode(secret);
+        Key key = Keys.hmacShaKeyFor(bytes);
+        String id = BASE64_URL.encodeToString(Arrays.copyOf(sha256(bytes), 8));
+        return new SigningKeyRing(SignatureAlgorithm.HS256, new SigningKey(id, SignatureAlgorithm.HS256, key, key),
+                List.of());
+    }
+
+    /**
+     * Creates a ring from the private key entries of a keystore. Each entry
+     * becomes a key whose kid is its alias. The entry named by the signing
+     * alias signs; every other entry that fits the algorithm only verifies
+     * and is published, which covers both the next key and retired keys.
+     *
+     * @param keyStore     the loaded keystore
+     * @param password     the password of the key entries
+     * @param signingAlias the alias of the entry that signs new tokens
+     * @param algorithm    the asymmetric algorithm, such as ES256 or RS256
+     * @return the ring
+     * @throws IllegalArgumentException if the algorithm is not asymmetric
+     * @throws IllegalStateException    if the signing entry is missing, does
+     *                                  not fit the algorithm, or cannot be read
+     */
+    static SigningKeyRing fromKeyStore(KeyStore keyStore, char[] password, String signingAlias,
+            SignatureAlgorithm algorithm) {
+        if (algorithm.isHmac() || algorithm == SignatureAlgorithm.NONE) {
+            throw new IllegalArgumentException("Not an asymmetric algorithm: " + algorithm);
+        }
+
+        try {
+            SigningKey current = null;
+            List<SigningKey> verificationOnly = new ArrayList<>();
+            for (String alias : Collections.list(keyStore.aliases())) {
+                if (!keyStore.isKeyEntry(alias)) {
+                    continue;
+                }
+                Key privateKey = keyStore.getKey(alias, password);
+                Certificate certificate = keyStore.getCertificate(alias);
+                if (!(privateKey instanceof PrivateKey) || certificate == null
+                        || !fits(algorithm, certificate.getPublicKey())) {
+                    continue;
+                }
+
+                SigningKey key = new SigningKey(alias, algorithm, privateKey, certificate.getPublicKey());
+                if (alias.equals(signingAlias)) {
+                    current = key;
+                } else {
+                    verificationOnly.add(key);
+                }
+            }
+
+            if (current == null) {
+                throw new IllegalStateException(
+                        "No " + algorithm.getValue() + " key entry named '" + signingAlias + "' in the JWT keystore");
+            }
+            return new SigningKeyRing(algorithm, current, verificationOnly);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not read the JWT keystore", e);
+        }
+    }
+
+    /**
+     * Retrieves the key that signs new tokens.
+     *
+     * @return the current key
+     */
+    SigningKey current() {
+        return current;
+    }
+
+    /**
+     * Retrieves the algorithm of the ring.
+     *
+     * @return the signature algorithm
+     */
+    public SignatureAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Looks up the key that verifies a token with the given header values.
+     *
+     * @param keyId     the kid header of the token
+     * @param algorithm the alg header of the token
+     * @return the verification key
+     * @throws JwtException if no key with that id exists for that algorithm
+     */
+    Key resolve(String keyId, String algorithm) {
+        SigningKey key = (keyId != null) ? keysById.get(keyId) : null;
+        if (key == null || !key.algorithm().getValue().equals(algorithm)) {
+            throw new JwtException("Unknown signing key: " + keyId);
+        }
+        return key.verificationKey();
+    }
+
+    /**
+     * Retrieves the public keys of the ring as a JSON Web Key Set. The set is
+     * empty for HMAC rings, since shared secrets are never published.
+     *
+     * @return the JWKS document
+     */
+    public String jwksJson() {
+        return jwksJson;
+    }
+
+    /**
+     * Retrieves the entity tag of the JWKS document.
+     *
+     * @return the entity tag, without quotes
+     */
+    public String jwksEtag() {
+        return jwksEtag;
+    }
+
+    private static String toJwks(List<SigningKey> keys) {
+        StringBuilder json = new StringBuilder("{\"keys\":[");
+        keys.stream()
+                .sorted((a, b) -> a.id().compareTo(b.id()))
+                .forEach(key -> {
+                    if (json.charAt(json.length() - 1) != '[') {
+                        json.append(',');
+                    }
+                    appendJwk(json, key);
+                });
+        return json.append("]}").toString();
+    }
+
+    private static void appendJwk(StringBuilder json, SigningKey key) {
+        json.append("{\"kid\":\"").append(key.id())
+                .append("\",\"use\":\"sig\",\"alg\":\"").append(key.algorithm().getValue()).append('"');
+
+        if (key.verificationKey() instanceof ECPublicKey ec) {
+            int size = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+            json.append(",\"kty\":\"EC\",\"crv\":\"").append(curveName(key.algorithm()))
+                    .append("\",\"x\":\"").append(encode(ec.getW().getAffineX(), size))
+                    .append("\",\"y\":\"").append(encode(ec.getW().getAffineY(), size)).append('"');
+        } else if (key.verificationKey() instanceof RSAPublicKey rsa) {
+            json.append(",\"kty\":\"RSA\",\"n\":\"").append(encode(rsa.getModulus(), 0))
+                    .append("\",\"e\":\"").append(encode(rsa.getPublicExponent(), 0)).append('"');
+        }
+        json.append('}');
+    }
+
+    private static String curveName(SignatureAlgorithm algorithm) {
+        return switch (algorithm) {
+            case ES256 -> "P-256";
+            case ES384 -> "P-384";
+            case ES512 -> "P-521";
+            default -> throw new IllegalArgumentException("Not an EC algorithm: " + algorithm);
+        };
+    }
+
+    /**
+     * Encodes an unsigned big-endian integer in base64url, left-padded to the
+     * given length when it is positive.
+     */
+    private static String encode(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length < length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return BASE64_URL.encodeToString(bytes);
+    }
+
+    private static String etag(String json) {
+        return HexFormat.of().formatHex(Arrays.copyOf(sha256(json.getBytes(StandardCharsets.UTF_8)), 8));
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Checks whether the public key can verify signatures of the algorithm,
+     * including the curve size for ECDSA.
+     */
+    private static boolean fits(SignatureAlgorithm algorithm, PublicKey publicKey) {
+        if (algorithm.isRsa()) {
+            return publicKey instanceof RSAPublicKey;
+        }
+        if (algorithm.isEllipticCurve() && publicKey instanceof ECKey ec) {
+            int fieldSize = ec.getParams().getCurve().getField().getFieldSize();
+            return switch (algorithm) {
+                case ES256 -> fieldSize == 256;
+                case ES384 -> fieldSize == 384;
+                case ES512 -> fieldSize == 521;
+                default -> false;
+            };
+        }
+        return false;
+    }
+
+    /**
+     * A single key of the ring.
+     *
+     * @param id              the key id, sent as the kid header
+     * @param algorithm       the algorithm the key is used with
+     * @param signingKey      the private or secret key that signs tokens
+     * @param verificationKey the public or secret key that verifies tokens
+     */
+    record SigningKey(String id, SignatureAlgorithm algorithm, Key signingKey, Key verificationKey) {
+    }
+}
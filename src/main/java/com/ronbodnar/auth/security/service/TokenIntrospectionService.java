@@ -0,0 +1,130 @@
+package com.ronbodnar.auth.security.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.ronbodnar.auth.payload.IntrospectionResponse;
+import com.ronbodnar.auth.security.model.JwtClaims;
+
+/**
+ * Reports whether tokens are active on behalf of services that cannot verify
+ * them locally. Large batches are split into chunks verified on a dedicated,
+ * fixed-size pool with a bounded queue; when the queue is full the calling
+ * thread verifies the chunk itself, so a burst of batches slows down its
+ * callers instead of queueing without limit. Each token goes through the
+ * same checks and caches as a token presented to this service.
+ */
+@Service
+public class TokenIntrospectionService implements DisposableBean {
+
+    /**
+     * Batches smaller than this are verified on the calling thread, since
+     * splitting them costs more than it saves. It is also the smallest chunk
+     * handed to the pool.
+     */
+    private static final int PARALLEL_THRESHOLD = 16;
+
+    private final JwtService jwtService;
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Constructs a new TokenIntrospectionService.
+     *
+     * @param jwtService    the service that verifies tokens
+     * @param threads       the number of verification threads, or 0 for one
+     *                      per available processor
+     * @param queueCapacity the maximum number of chunks waiting for a thread
+     */
+    public TokenIntrospectionService(JwtService jwtService,
+            @Value("${com.ronbodnar.auth.security.introspection.threads:0}") int threads,
+            @Value("${com.ronbodnar.auth.security.introspection.queue-capacity:64}") int queueCapacity) {
+        int poolSize = (threads > 0) ? threads : Runtime.getRuntime().availableProcessors();
+        this.jwtService = jwtService;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("token-introspection-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Introspects a single token.
+     *
+     * @param token the token, or null
+     * @return the introspection result
+     */
+    public IntrospectionResponse introspect(String token) {
+        JwtClaims claims = (token != null) ? jwtService.verify(token) : null;
+        return (claims != null) ? IntrospectionResponse.of(claims) : IntrospectionResponse.inactive();
+    }
+
+    /**
+     * Introspects a batch of tokens.
+     *
+     * @param tokens the tokens
+     * @return the introspection results, in the order of the tokens
+     */
+    public List<IntrospectionResponse> introspect(List<String> tokens) {
+        IntrospectionResponse[] results = new IntrospectionResponse[tokens.size()];
+        if (results.length < PARALLEL_THRESHOLD) {
+            introspect(tokens, results, 0, results.length);
+            return Arrays.asList(results);
+        }
+
+        // One chunk per pool thread plus one for the caller, which verifies
+        // the first chunk while the others run.
+        int chunkSize = Math.max(PARALLEL_THRESHOLD,
+                (results.length + executor.getMaximumPoolSize()) / (executor.getMaximumPoolSize() + 1));
+        List<Future<?>> futures = new ArrayList<>();
+        for (int from = chunkSize; from < results.length; from += chunkSize) {
+            int start = from;
+            int end = Math.min(results.length, from + chunkSize);
+            futures.add(executor.submit(() -> introspect(tokens, results, start, end)));
+        }
+        introspect(tokens, results, 0, Math.min(results.length, chunkSize));
+
+        for (Future<?> future : futures) {
+            await(future);
+        }
+        return Arrays.asList(results);
+    }
+
+    private void introspect(List<String> tokens, IntrospectionResponse[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            results[i] = introspect(tokens.get(i));
+        }
+    }
+
+    private static void await(Future<?> future) {
+        try {
+            future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while introspecting tokens", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,142 @@
+package com.ronbodnar.auth.security.service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Tracks revoked JWTs by their {@code jti} until they expire. A Bloom filter
+ * in front of the exact set answers "not revoked" for almost every token
+ * without touching the set; only filter hits are confirmed against it.
+ * Since entries cannot be removed from a Bloom filter, a background job
+ * drops expired entries from the set and swaps in a filter rebuilt from
+ * what remains. The rebuild runs outside the lock that revocations take, so
+ * a slow compaction never holds up a request thread; revocations made while
+ * it runs are added to the new filter as well as the current one.
+ */
+@Service
+public class TokenRevocationService implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ReentrantLock compactionLock = new ReentrantLock();
+
+    private volatile BloomFilter filter;
+    private BloomFilter rebuilding;
+
+    /**
+     * Constructs a new TokenRevocationService.
+     *
+     * @param expectedRevocations the number of live revocations the filter is
+     *                            sized for; it grows on compaction if exceeded
+     * @param falsePositiveRate   the target false positive rate of the filter
+     */
+    public TokenRevocationService(
+            @Value("${com.ronbodnar.auth.security.revocation.expected-revocations:100000}") long expectedRevocations,
+            @Value("${com.ronbodnar.auth.security.revocation.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    /**
+     * Revokes the token with the given id until it expires.
+     *
+     * @param tokenId   the jti of the token
+     * @param expiresAt the expiry of the token
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (tokenId == null || expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            revoked.put(tokenId, expiresAt.toEpochMilli());
+            filter.put(tokenId);
+            if (rebuilding != null) {
+                rebuilding.put(tokenId);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether the token with the given id was revoked.
+     *
+     * @param tokenId the jti of the token, or null
+     * @return true if the token was revoked and has not yet expired
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+
+        Long expiresAt = revoked.get(tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Drops expired revocations and replaces the filter with one built from
+     * the remaining entries, sized for at least twice their number.
+     */
+    @Scheduled(fixedDelayString = "${com.ronbodnar.auth.security.revocation.compaction-interval:PT5M}")
+    public void compact() {
+        compactionLock.lock();
+        try {
+            long now = System.currentTimeMillis();
+            revoked.values().removeIf(expiresAt -> expiresAt <= now);
+
+            // Publish the new filter to revoke() before copying the set into it:
+            // entries added before this point are seen by the iteration below,
+            // and entries added after it are put into the new filter directly.
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedRevocations, 2L * revoked.size()),
+                    falsePositiveRate);
+            lock.lock();
+            try {
+                rebuilding = rebuilt;
+            } finally {
+                lock.unlock();
+            }
+
+            revoked.keySet().forEach(rebuilt::put);
+
+            lock.lock();
+            try {
+                filter = rebuilt;
+                rebuilding = null;
+            } finally {
+                lock.unlock();
+            }
+
+            logger.debug("Compacted revocation list to {} entries", revoked.size());
+        } finally {
+            compactionLock.unlock();
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        Gauge.builder("auth.revoked.tokens", revoked, Map::size)
+                .description("Revoked JWTs that have not yet expired")
+                .register(registry);
+    }
+}
@@ -0,0 +1,20 @@
+package com.ronbodnar.auth.user;
+
+/**
+ * A projection of the user columns needed to build a security principal,
+ * joined with one of the user's role names. A user with several roles yields
+ * one row per role; a user without roles yields a single row with a null role.
+ *
+ * @param id       the unique identifier of the user
+ * @param username the username of the user
+ * @param email    the email address of the user
+ * @param password the password hash of the user
+ * @param roleName the name of one of the user's roles, or null
+ */
+public record PrincipalRow(int id, String username, String email, String password, String roleName) {
+
+    @Override
+    public String toString() {
+        return "PrincipalRow(id=" + id + ", username=" + username + ", roleName=" + roleName + ")";
+    }
+}
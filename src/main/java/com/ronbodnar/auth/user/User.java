@@ -4,6 +4,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.ronbodnar.auth.role.Role;
 
 import jakarta.persistence.*;
@@ -23,25 +24,33 @@ import lombok.Setter;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "users")
+@Table(name = "users", uniqueConstraints = {
+        @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"),
+        @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username")
+})
 public class User {
 
+    /** The name of the unique constraint on the email column. */
+    public static final String EMAIL_CONSTRAINT = "uk_users_email";
+
+    /** The name of the unique constraint on the username column. */
+    public static final String USERNAME_CONSTRAINT = "uk_users_username";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private int id;
 
     @NotNull
     @Email
-    @Column(unique = true)
     private String email;
 
     @NotNull
     @Size(min = 3, max = 20)
-    @Column(unique = true)
     private String username;
 
     @NotNull
     @Size(min = 8)
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
 
     @JsonIgnore
@@ -64,6 +73,6 @@ public class User {
 
     @Override
     public String toString() {
-        return String.format("User(id=%s, email=%s, password=%s)", id, email, password);
+        return "User(id=" + id + ", email=" + email + ")";
     }
 }
@@ -1,10 +1,24 @@
 package com.ronbodnar.auth.user;
 
+import jakarta.validation.Valid;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.ronbodnar.auth.payload.ImportReport;
+import com.ronbodnar.auth.payload.PageResponse;
 
-import java.util.List;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Optional;
 
 /**
@@ -14,23 +28,48 @@ import java.util.Optional;
 @RequestMapping("/users")
 public class UserController {
 
+    private static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
     private final UserService userService;
+    private final UserImportService userImportService;
     private final UserRepository userRepository;
+    private final int maxPageSize;
 
-    public UserController(UserService userService, UserRepository userRepository) {
+    public UserController(UserService userService, UserImportService userImportService,
+            UserRepository userRepository,
+            @Value("${com.ronbodnar.auth.users.max-page-size:500}") int maxPageSize) {
         this.userService = userService;
+        this.userImportService = userImportService;
         this.userRepository = userRepository;
+        this.maxPageSize = maxPageSize;
     }
 
     /**
-     * Retrieves all users.
+     * Retrieves a page of users, ordered by ID.
      *
-     * @return ResponseEntity containing a list of users and HTTP status.
+     * @param after The ID of the last user of the previous page, or 0 for the
+     *              first page.
+     * @param limit The maximum number of users to return, capped at the
+     *              configured maximum page size.
+     * @return ResponseEntity containing the page of users and the next cursor.
      */
     @GetMapping("")
-    public ResponseEntity<List<User>> getUsers() {
-        List<User> users = userRepository.findAll();
-        return ResponseEntity.ok(users); // Return users in response
+    public ResponseEntity<PageResponse<User>> getUsers(@RequestParam(defaultValue = "0") int after,
+            @RequestParam(defaultValue = "50") int limit) {
+        int pageSize = Math.min(Math.max(limit, 1), maxPageSize);
+        return ResponseEntity.ok(userService.getUsers(after, pageSize));
+    }
+
+    /**
+     * Exports all users as newline-delimited JSON, streamed as they are read.
+     *
+     * @return ResponseEntity streaming the users.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userService::exportUsers);
     }
 
     /**
@@ -40,11 +79,29 @@ public class UserController {
      * @return ResponseEntity indicating the outcome of the operation.
      */
     @PostMapping("")
-    public ResponseEntity<?> addUser(@RequestBody User user) {
-        try {
-            return userService.addUser(user);
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Error adding user: " + e.getMessage());
+    public ResponseEntity<User> addUser(@Valid @RequestBody User user) {
+        return userService.addUser(user);
+    }
+
+    /**
+     * Imports users in bulk from a streamed upload, either newline-delimited
+     * JSON or CSV with a header row.
+     *
+     * @param contentType The content type of the upload.
+     * @param body        The upload.
+     * @return ResponseEntity containing the import report.
+     * @throws IOException if reading the upload fails.
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_NDJSON_VALUE, "text/csv" })
+    public ResponseEntity<ImportReport> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        UserImportService.Format format = TEXT_CSV.isCompatibleWith(contentType)
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        Charset charset = (contentType.getCharset() != null) ? contentType.getCharset() : StandardCharsets.UTF_8;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, charset))) {
+            return ResponseEntity.ok(userImportService.importUsers(reader, format));
         }
     }
 
@@ -0,0 +1,426 @@
+package com.ronbodnar.auth.user;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ronbodnar.auth.exception.ServiceUnavailableException;
+import com.ronbodnar.auth.payload.ImportReport;
+import com.ronbodnar.auth.payload.ImportReport.RowError;
+import com.ronbodnar.auth.security.crypto.BoundedPasswordEncoder;
+
+/**
+ * Imports users in bulk from a streamed NDJSON or CSV upload. Rows are read
+ * and processed in chunks: each chunk is validated, checked for existing
+ * emails and usernames with one query, hashed on the password encoder's pool
+ * and inserted with JDBC batching, so memory use and round trips do not grow
+ * with the upload.
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+
+    private static final String INSERT_USER = "insert into users (email, username, password) values (?, ?, ?)";
+    private static final String SELECT_EXISTING = "select email, username from users "
+            + "where email in (:emails) or username in (:usernames)";
+    private static final long MIN_BACKOFF_MILLIS = 10;
+    private static final long MAX_BACKOFF_MILLIS = 1000;
+
+    /**
+     * The supported upload formats.
+     */
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final int maxErrors;
+    private final int maxHashesInFlight;
+    private final Semaphore hashingChunk = new Semaphore(1);
+
+    public UserImportService(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            TransactionTemplate transactionTemplate, BoundedPasswordEncoder passwordEncoder, Validator validator,
+            ObjectMapper objectMapper,
+            @Value("${com.ronbodnar.auth.users.import.chunk-size:1000}") int chunkSize,
+            @Value("${com.ronbodnar.auth.users.import.max-errors:10000}") int maxErrors) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.maxHashesInFlight = Math.max(1, passwordEncoder.getPoolSize() / 2);
+    }
+
+    /**
+     * Imports the users read from the given upload. CSV uploads must start
+     * with a header naming the email, username and password columns; NDJSON
+     * uploads hold one object with those fields per line. A missing username
+     * defaults to the email, as for single registrations.
+     *
+     * @param reader the upload
+     * @param format the format of the upload
+     * @return the counts, throughput and per-row errors of the import
+     * @throws IOException if reading the upload fails
+     */
+    public ImportReport importUsers(BufferedReader reader, Format format) throws IOException {
+        long start = System.nanoTime();
+        Progress progress = new Progress();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        int lineNumber = 0;
+        Map<String, Integer> columns = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && columns == null) {
+                columns = parseHeader(line);
+                if (columns == null) {
+                    progress.fail(lineNumber, "CSV header must name the email and password columns");
+                    break;
+                }
+                continue;
+            }
+
+            progress.received++;
+            try {
+                chunk.add((format == Format.CSV) ? parseCsv(lineNumber, line, columns) : parseJson(lineNumber, line));
+            } catch (IllegalArgumentException e) {
+                progress.fail(lineNumber, e.getMessage());
+            }
+
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, progress);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, progress);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        logger.info("Imported {} of {} users in {} ms", progress.imported, progress.received, elapsedMillis);
+
+        return new ImportReport(progress.received, progress.imported, progress.failed, elapsedMillis,
+                progress.errors, progress.failed > progress.errors.size());
+    }
+
+    private void importChunk(List<Row> chunk, Progress progress) {
+        List<Row> valid = validate(chunk, progress);
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        valid = removeExisting(valid, progress);
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        List<Row> hashed = hash(valid, progress);
+        if (!hashed.isEmpty()) {
+            insert(hashed, progress);
+        }
+    }
+
+    /**
+     * Validates the rows against the User constraints and drops rows that
+     * repeat an email or username of an earlier row in the chunk.
+     */
+    private List<Row> validate(List<Row> chunk, Progress progress) {
+        List<Row> valid = new ArrayList<>(chunk.size());
+        Set<String> emails = new HashSet<>();
+        Set<String> usernames = new HashSet<>();
+
+        for (Row row : chunk) {
+            Set<ConstraintViolation<User>> violations = validator.validate(row.user());
+            if (!violations.isEmpty()) {
+                progress.fail(row.line(), violations.stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+            } else if (!emails.add(row.user().getEmail()) || !usernames.add(row.user().getUsername())) {
+                progress.fail(row.line(), "Duplicate email or username in upload");
+            } else {
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    /**
+     * Drops rows whose email or username already exists, using a single query
+     * for the whole chunk.
+     */
+    private List<Row> removeExisting(List<Row> rows, Progress progress) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("emails", rows.stream().map(row -> row.user().getEmail()).toList())
+                .addValue("usernames", rows.stream().map(row -> row.user().getUsername()).toList());
+
+        Set<String> existingEmails = new HashSet<>();
+        Set<String> existingUsernames = new HashSet<>();
+        namedParameterJdbcTemplate.query(SELECT_EXISTING, parameters, resultSet -> {
+            existingEmails.add(resultSet.getString("email"));
+            existingUsernames.add(resultSet.getString("username"));
+        });
+
+        if (existingEmails.isEmpty()) {
+            return rows;
+        }
+
+        List<Row> remaining = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            if (existingEmails.contains(row.user().getEmail())
+                    || existingUsernames.contains(row.user().getUsername())) {
+                progress.fail(row.line(), "User already exists");
+            } else {
+                remaining.add(row);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Hashes the passwords of the rows on the password encoder's pool. Imports
+     * hash one chunk at a time between them, and keep at most half the pool
+     * busy while doing so, so logins always find free hashing threads. If the
+     * pool is saturated anyway, the hash is retried after a growing backoff
+     * rather than failing the row.
+     */
+    private List<Row> hash(List<Row> rows, Progress progress) {
+        try {
+            hashingChunk.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        }
+
+        try {
+            List<Future<String>> hashes = new ArrayList<>(rows.size());
+            List<Row> hashed = new ArrayList<>(rows.size());
+            int collected = 0;
+            for (Row row : rows) {
+                if (hashes.size() - collected >= maxHashesInFlight) {
+                    collect(rows.get(collected), hashes.get(collected), hashed, progress);
+                    collected++;
+                }
+                hashes.add(submit(row.user().getPassword()));
+            }
+            for (; collected < hashes.size(); collected++) {
+                collect(rows.get(collected), hashes.get(collected), hashed, progress);
+            }
+            return hashed;
+        } finally {
+            hashingChunk.release();
+        }
+    }
+
+    private Future<String> submit(String rawPassword) {
+        long backoff = MIN_BACKOFF_MILLIS;
+        while (true) {
+            try {
+                return passwordEncoder.encodeAsync(rawPassword);
+            } catch (ServiceUnavailableException e) {
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for password hashing", interrupted);
+                }
+                backoff = Math.min(2 * backoff, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    private static void collect(Row row, Future<String> hash, List<Row> hashed, Progress progress) {
+        try {
+            row.user().setPassword(hash.get());
+            hashed.add(row);
+        } catch (ExecutionException e) {
+            progress.fail(row.line(), "Password could not be hashed: " + e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        }
+    }
+
+    /**
+     * Inserts the rows with one JDBC batch in a single transaction. If a
+     * concurrent registration took one of the emails or usernames in the
+     * meantime, the chunk is retried row by row so that only the conflicting
+     * rows fail.
+     */
+    private void insert(List<Row> rows, Progress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_USER, rows,
+                    rows.size(), (statement, row) -> {
+                        statement.setString(1, row.user().getEmail());
+                        statement.setString(2, row.user().getUsername());
+                        statement.setString(3, row.user().getPassword());
+                    }));
+            progress.imported += rows.size();
+        } catch (DataIntegrityViolationException e) {
+            for (Row row : rows) {
+                try {
+                    jdbcTemplate.update(INSERT_USER, row.user().getEmail(), row.user().getUsername(),
+                            row.user().getPassword());
+                    progress.imported++;
+                } catch (DataIntegrityViolationException rowException) {
+                    progress.fail(row.line(), "User already exists");
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps the lower-cased column names of a CSV header to their positions.
+     *
+     * @return the column positions, or null if a required column is missing
+     */
+    private static Map<String, Integer> parseHeader(String line) {
+        List<String> names;
+        try {
+            names = splitCsv(line);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return (columns.containsKey("email") && columns.containsKey("password")) ? columns : null;
+    }
+
+    private Row parseCsv(int line, String text, Map<String, Integer> columns) {
+        List<String> values = splitCsv(text);
+        return row(line, column(values, columns, "email"), column(values, columns, "username"),
+                column(values, columns, "password"));
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return (index != null && index < values.size()) ? values.get(index) : null;
+    }
+
+    private Row parseJson(int line, String text) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return row(line, node.path("email").asText(null), node.path("username").asText(null),
+                node.path("password").asText(null));
+    }
+
+    private static Row row(int line, String email, String username, String password) {
+        User user = new User();
+        user.setEmail(email);
+        user.setUsername((username != null && !username.isEmpty()) ? username : email);
+        user.setPassword(password);
+        return new Row(line, user);
+    }
+
+    /**
+     * Splits a CSV line into its fields, honoring double-quoted fields with
+     * embedded commas and doubled quotes.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * A parsed row and the line it was read from.
+     *
+     * @param line the line number in the upload
+     * @param user the user to insert
+     */
+    private record Row(int line, User user) {
+    }
+
+    /**
+     * The running counts of an import.
+     */
+    private final class Progress {
+
+        private int received;
+        private int imported;
+        private int failed;
+        private final List<RowError> errors = new ArrayList<>();
+
+        void fail(int line, String message) {
+            failed++;
+            if (errors.size() < maxErrors) {
+                errors.add(new RowError(line, message));
+            }
+        }
+    }
+}
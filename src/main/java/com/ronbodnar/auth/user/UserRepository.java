@@ -1,9 +1,19 @@
 package com.ronbodnar.auth.user;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
 
 /**
  * Repository interface for managing User entities.
@@ -27,4 +37,48 @@ public interface UserRepository extends JpaRepository<User, Integer> {
      */
     Optional<User> findByUsername(String username);
 
+    /**
+     * Loads the columns needed to build a principal for the given username,
+     * joined with the user's role names, in a single query.
+     *
+     * @param username the username to search for
+     * @return one row per role of the user, or an empty list if no user found
+     */
+    @Query("select new com.ronbodnar.auth.user.PrincipalRow(u.id, u.username, u.email, u.password, r.name) "
+            + "from User u left join u.roles r where u.username = :username")
+    List<PrincipalRow> findPrincipalRowsByUsername(@Param("username") String username);
+
+    /**
+     * Replaces the stored password hash of a user without loading the entity.
+     *
+     * @param username the username of the user
+     * @param password the new password hash
+     * @return the number of updated rows
+     */
+    @Modifying
+    @Query("update User u set u.password = :password where u.username = :username")
+    int updatePasswordByUsername(@Param("username") String username, @Param("password") String password);
+
+    /**
+     * Finds the users following the given id, in id order. Used for keyset
+     * pagination, so the cost of a page does not grow with its position.
+     *
+     * @param id    the id after which to start
+     * @param limit the maximum number of users to return
+     * @return the users with a greater id, in ascending id order
+     */
+    List<User> findByIdGreaterThanOrderByIdAsc(int id, Limit limit);
+
+    /**
+     * Streams all users in id order from a database cursor. The stream must be
+     * consumed and closed within a transaction.
+     *
+     * @return a stream of all users
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select u from User u order by u.id")
+    Stream<User> streamAllOrderedById();
 }
@@ -1,31 +1,134 @@
 package com.ronbodnar.auth.user;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+import jakarta.persistence.EntityManager;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.ronbodnar.auth.exception.UserAlreadyExistsException;
+import com.ronbodnar.auth.payload.PageResponse;
+import com.ronbodnar.auth.security.cache.UserPrincipalCache;
 
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final PasswordEncoder passwordEncoder;
+    private final EntityManager entityManager;
+    private final ObjectWriter userWriter;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserPrincipalCache userPrincipalCache,
+            PasswordEncoder passwordEncoder, EntityManager entityManager, ObjectMapper objectMapper) {
         this.userRepository = userRepository;
+        this.userPrincipalCache = userPrincipalCache;
+        this.passwordEncoder = passwordEncoder;
+        this.entityManager = entityManager;
+        this.userWriter = objectMapper.writerFor(User.class);
     }
 
     /**
-     * Adds a new user to the system.
+     * Retrieves the page of users following the given cursor. One extra row is
+     * read to tell whether another page follows.
+     *
+     * @param after the id of the last user of the previous page, or 0
+     * @param limit the maximum number of users in the page
+     * @return the page of users and the cursor of the next page
+     */
+    public PageResponse<User> getUsers(int after, int limit) {
+        List<User> users = userRepository.findByIdGreaterThanOrderByIdAsc(after, Limit.of(limit + 1));
+        if (users.size() <= limit) {
+            return new PageResponse<>(users, null);
+        }
+
+        List<User> page = users.subList(0, limit);
+        return new PageResponse<>(page, page.get(limit - 1).getId());
+    }
+
+    /**
+     * Writes all users to the stream as newline-delimited JSON. Rows are read
+     * from a database cursor and detached once written, so memory use does
+     * not grow with the number of users.
+     *
+     * @param outputStream the stream to write to
+     * @throws IOException if writing to the stream fails
+     */
+    @Transactional(readOnly = true)
+    public void exportUsers(OutputStream outputStream) throws IOException {
+        try (Stream<User> users = userRepository.streamAllOrderedById()) {
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                outputStream.write(userWriter.writeValueAsBytes(user));
+                outputStream.write('\n');
+                entityManager.detach(user);
+            }
+        }
+        outputStream.flush();
+    }
+
+    /**
+     * Adds a new user to the system. The password is hashed before the user
+     * is stored. The user is inserted in a single statement; an existing email
+     * or username is detected by the unique constraints rather than checked
+     * beforehand, so concurrent registrations cannot both succeed.
      *
      * @param user the user to be added
      * @return ResponseEntity containing the saved user or an error response
+     * @throws UserAlreadyExistsException if the email or username is taken
      */
     public ResponseEntity<User> addUser(User user) {
-        if (userRepository.existsByEmail(user.getEmail())) {
-            throw new UserAlreadyExistsException("User already exists with email: " + user.getEmail());
+        user.setPassword(passwordEncoder.encode(user.getPassword()));
+
+        User savedUser;
+        try {
+            savedUser = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            throw toUserAlreadyExists(e, user);
         }
 
-        User savedUser = userRepository.save(user);
+        userPrincipalCache.removeUserFromCache(savedUser.getUsername());
         return ResponseEntity.status(HttpStatus.CREATED).body(savedUser);
     }
+
+    /**
+     * Translates a unique constraint violation into the matching
+     * UserAlreadyExistsException.
+     *
+     * @param e    the violation raised by the insert
+     * @param user the user that was inserted
+     * @return the exception to throw
+     * @throws DataIntegrityViolationException if the violation is not about an
+     *                                         existing email or username
+     */
+    private static UserAlreadyExistsException toUserAlreadyExists(DataIntegrityViolationException e, User user) {
+        String constraint = (e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null)
+                        ? violation.getConstraintName()
+                        : String.valueOf(e.getMostSpecificCause().getMessage());
+        constraint = constraint.toLowerCase(Locale.ROOT);
+
+        if (constraint.contains(User.EMAIL_CONSTRAINT)) {
+            return new UserAlreadyExistsException("User already exists with email: " + user.getEmail());
+        }
+        if (constraint.contains(User.USERNAME_CONSTRAINT)) {
+            return new UserAlreadyExistsException("User already exists with username: " + user.getUsername());
+        }
+        throw e;
+    }
 }
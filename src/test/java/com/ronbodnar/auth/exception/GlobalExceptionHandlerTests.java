@@ -0,0 +1,44 @@
+package com.ronbodnar.auth.exception;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+
+import com.ronbodnar.auth.payload.ErrorResponse;
+
+class GlobalExceptionHandlerTests {
+
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+	@Test
+	void saturatedEncoderWrappedByTheProviderIsAnsweredWith503() {
+		ServiceUnavailableException cause = new ServiceUnavailableException("Too many concurrent password operations", 2);
+
+		ResponseEntity<ErrorResponse> response = handler.handleAuthenticationException(
+				new InternalAuthenticationServiceException(cause.getMessage(), cause));
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+		assertEquals("2", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertEquals(503, response.getBody().getStatus());
+	}
+
+	@Test
+	void otherAuthenticationFailuresAreAnsweredWith401() {
+		ResponseEntity<ErrorResponse> internal = handler.handleAuthenticationException(
+				new InternalAuthenticationServiceException("Database down", new IllegalStateException()));
+		ResponseEntity<ErrorResponse> badCredentials = handler.handleAuthenticationException(
+				new BadCredentialsException("Bad credentials"));
+
+		assertEquals(HttpStatus.UNAUTHORIZED, internal.getStatusCode());
+		assertEquals(HttpStatus.UNAUTHORIZED, badCredentials.getStatusCode());
+		assertNull(badCredentials.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertEquals("Invalid username or password", badCredentials.getBody().getMessage());
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.ronbodnar.auth.security.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.Instant;
+
+import org.junit.jupiter.api.Test;
+
+class AuthEventLogTests {
+
+	private static final Instant TIMESTAMP = Instant.parse("2024-01-01T00:00:00Z");
+
+	@Test
+	void formatQuotesEveryField() {
+		AuthEvent event = new AuthEvent(TIMESTAMP, AuthEventType.LOGIN_FAILURE, "alice", "10.0.0.1", "/auth/login",
+				"Bad credentials");
+
+		assertEquals("2024-01-01T00:00:00Z type=LOGIN_FAILURE principal=\"alice\" remote=\"10.0.0.1\" "
+				+ "path=\"/auth/login\" detail=\"Bad credentials\"", AuthEventLog.format(event));
+	}
+
+	@Test
+	void formatWritesMissingFieldsAsDash() {
+		AuthEvent event = new AuthEvent(TIMESTAMP, AuthEventType.TOKEN_REJECTED, null, null, null, null);
+
+		assertEquals("2024-01-01T00:00:00Z type=TOKEN_REJECTED principal=- remote=- path=- detail=-",
+				AuthEventLog.format(event));
+	}
+
+	@Test
+	void formatEscapesForgedLinesAndFields() {
+		String forged = "x\" detail=\"ok\r\n2024-01-01T00:00:00Z type=LOGIN_SUCCESS principal=\"admin";
+		AuthEvent event = new AuthEvent(TIMESTAMP, AuthEventType.LOGIN_FAILURE, forged, "10.0.0.1",
+				"/a\nb\\c", "d\u0000e\u2028f");
+
+		String line = AuthEventLog.format(event);
+
+		assertFalse(line.contains("\n"));
+		assertFalse(line.contains("\r"));
+		assertEquals("2024-01-01T00:00:00Z type=LOGIN_FAILURE "
+				+ "principal=\"x\\\" detail=\\\"ok\\r\\n2024-01-01T00:00:00Z type=LOGIN_SUCCESS principal=\\\"admin\" "
+				+ "remote=\"10.0.0.1\" path=\"/a\\nb\\\\c\" detail=\"d\\u0000e\\u2028f\"", line);
+	}
+
+}
@@ -0,0 +1,80 @@
+package com.ronbodnar.auth.security.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+
+class CountingAsyncAppenderTests {
+
+	@Test
+	void eventsFindingTheQueueFullAreDroppedAndCounted() throws Exception {
+		LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+		BlockingAppender target = new BlockingAppender();
+		target.setContext(context);
+		target.start();
+
+		CountingAsyncAppender appender = new CountingAsyncAppender();
+		appender.setContext(context);
+		appender.setName("ASYNC_AUDIT");
+		appender.setQueueSize(1);
+		appender.addAppender(target);
+		appender.start();
+
+		appender.doAppend(event(context, "first"));
+		assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+		appender.doAppend(event(context, "queued"));
+		appender.doAppend(event(context, "dropped-1"));
+		appender.doAppend(event(context, "dropped-2"));
+
+		assertEquals(2, appender.getDroppedCount());
+		assertEquals(1, appender.getNumberOfElementsInQueue());
+
+		target.release.countDown();
+		appender.stop();
+
+		assertEquals(List.of("first", "queued"), target.messages);
+		assertEquals(2, appender.getWrittenCount());
+		assertEquals(0, appender.getNumberOfElementsInQueue());
+	}
+
+	private static ILoggingEvent event(LoggerContext context, String message) {
+		return new LoggingEvent(CountingAsyncAppenderTests.class.getName(), context.getLogger(AuthEventLog.LOGGER_NAME),
+				Level.INFO, message, null, null);
+	}
+
+	/**
+	 * Holds the worker in the first append until released, so the queue fills
+	 * deterministically.
+	 */
+	private static class BlockingAppender extends AppenderBase<ILoggingEvent> {
+
+		final CountDownLatch entered = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final List<String> messages = new CopyOnWriteArrayList<>();
+
+		@Override
+		protected void append(ILoggingEvent event) {
+			entered.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			messages.add(event.getMessage());
+		}
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.ronbodnar.auth.security.cache;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.ronbodnar.auth.security.model.TokenDigest;
+
+class RejectedTokenCacheTests {
+
+	private static final Duration TTL = Duration.ofMinutes(5);
+
+	private final AtomicLong nanos = new AtomicLong();
+	private final TokenDigest digest = TokenDigest.of("rejected.token.value");
+
+	@Test
+	void remembersRejectionUntilJustBeforeTtl() {
+		RejectedTokenCache cache = new RejectedTokenCache(true, 100, TTL, nanos::get);
+		cache.add(digest);
+
+		nanos.set(TTL.toNanos() - 1);
+		assertTrue(cache.contains(digest));
+	}
+
+	@Test
+	void forgetsRejectionOnceTtlHasElapsed() {
+		RejectedTokenCache cache = new RejectedTokenCache(true, 100, TTL, nanos::get);
+		cache.add(digest);
+
+		nanos.set(TTL.toNanos());
+		assertFalse(cache.contains(digest));
+	}
+
+	@Test
+	void rejectingAgainRestartsTtl() {
+		RejectedTokenCache cache = new RejectedTokenCache(true, 100, TTL, nanos::get);
+		cache.add(digest);
+
+		nanos.set(TTL.toNanos() - 1);
+		cache.add(digest);
+		nanos.set(2 * TTL.toNanos() - 2);
+		assertTrue(cache.contains(digest));
+
+		nanos.set(2 * TTL.toNanos() - 1);
+		assertFalse(cache.contains(digest));
+	}
+
+	@Test
+	void remembersNothingWhenDisabled() {
+		RejectedTokenCache cache = new RejectedTokenCache(false, 100, TTL, nanos::get);
+		cache.add(digest);
+
+		assertFalse(cache.contains(digest));
+		assertFalse(cache.contains(TokenDigest.of("other.token.value")));
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.ronbodnar.auth.security.cache;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import com.ronbodnar.auth.security.model.JwtClaims;
+import com.ronbodnar.auth.security.model.TokenDigest;
+
+class VerifiedTokenCacheTests {
+
+	private static final Duration MAX_TTL = Duration.ofMinutes(15);
+
+	private final FakeClock clock = new FakeClock(Instant.parse("2024-01-01T00:00:00Z"));
+	private final VerifiedTokenCache cache = new VerifiedTokenCache(true, 100, MAX_TTL, clock, clock::nanos);
+	private final TokenDigest digest = TokenDigest.of("verified.token.value");
+
+	@Test
+	void keepsClaimsUntilJustBeforeTokenExpiry() {
+		JwtClaims claims = claimsExpiringIn(Duration.ofMinutes(5));
+		cache.put(digest, claims);
+
+		clock.advance(Duration.ofMinutes(5).minusNanos(1));
+		assertSame(claims, cache.get(digest));
+	}
+
+	@Test
+	void dropsClaimsAtTokenExpiry() {
+		cache.put(digest, claimsExpiringIn(Duration.ofMinutes(5)));
+
+		clock.advance(Duration.ofMinutes(5));
+		assertNull(cache.get(digest));
+	}
+
+	@Test
+	void capsLongLivedTokensAtMaxTtl() {
+		JwtClaims claims = claimsExpiringIn(Duration.ofHours(1));
+		cache.put(digest, claims);
+
+		clock.advance(MAX_TTL.minusNanos(1));
+		assertSame(claims, cache.get(digest));
+
+		clock.advance(Duration.ofNanos(1));
+		assertNull(cache.get(digest));
+	}
+
+	@Test
+	void neverCachesExpiredToken() {
+		cache.put(digest, claimsExpiringIn(Duration.ofSeconds(-1)));
+
+		assertNull(cache.get(digest));
+	}
+
+	@Test
+	void cachesNothingWhenDisabled() {
+		VerifiedTokenCache disabled = new VerifiedTokenCache(false, 100, MAX_TTL, clock, clock::nanos);
+		disabled.put(digest, claimsExpiringIn(Duration.ofMinutes(5)));
+
+		assertNull(disabled.get(digest));
+	}
+
+	private JwtClaims claimsExpiringIn(Duration duration) {
+		Instant now = clock.instant();
+		return new JwtClaims("jti", "test@mail.com", 1, "test@mail.com", now, now.plus(duration),
+				List.of("ROLE_USER"));
+	}
+
+	/**
+	 * A clock that only moves when told to, and doubles as the cache's ticker.
+	 */
+	private static final class FakeClock extends Clock {
+
+		private final Instant start;
+		private final AtomicLong elapsed = new AtomicLong();
+
+		FakeClock(Instant start) {
+			this.start = start;
+		}
+
+		void advance(Duration duration) {
+			elapsed.addAndGet(duration.toNanos());
+		}
+
+		long nanos() {
+			return elapsed.get();
+		}
+
+		@Override
+		public Instant instant() {
+			return start.plusNanos(elapsed.get());
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			throw new UnsupportedOperationException();
+		}
+	}
+
+}
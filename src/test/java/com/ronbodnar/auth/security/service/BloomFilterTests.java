@@ -0,0 +1,65 @@
+package com.ronbodnar.auth.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTests {
+
+	@Test
+	void neverReportsAnAddedValueAsAbsent() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		String[] values = new String[10_000];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = UUID.randomUUID().toString();
+			filter.put(values[i]);
+		}
+
+		for (String value : values) {
+			assertTrue(filter.mightContain(value), value);
+		}
+	}
+
+	@Test
+	void keepsFalsePositivesNearTheTargetRate() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("revoked-" + i);
+		}
+
+		int falsePositives = 0;
+		for (int i = 0; i < 100_000; i++) {
+			if (filter.mightContain("live-" + i)) {
+				falsePositives++;
+			}
+		}
+		assertTrue(falsePositives < 3_000, "false positives: " + falsePositives);
+	}
+
+	@Test
+	void neverReportsAValueAddedConcurrentlyAsAbsent() throws InterruptedException {
+		BloomFilter filter = new BloomFilter(80_000, 0.01);
+		Thread[] threads = new Thread[8];
+		for (int t = 0; t < threads.length; t++) {
+			int offset = t;
+			threads[t] = new Thread(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					filter.put(offset + "-" + i);
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		for (int t = 0; t < threads.length; t++) {
+			for (int i = 0; i < 10_000; i++) {
+				assertTrue(filter.mightContain(t + "-" + i));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,98 @@
+package com.ronbodnar.auth.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ronbodnar.auth.role.Role;
+import com.ronbodnar.auth.user.PrincipalRow;
+import com.ronbodnar.auth.user.User;
+import com.ronbodnar.auth.user.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class DatabaseUserDetailsServiceTests {
+
+	@Autowired
+	private DatabaseUserDetailsService databaseUserDetailsService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void loadUserByUsernameIssuesOneStatement() {
+		UserDetails userDetails = databaseUserDetailsService.loadUserByUsername("test@mail.com");
+
+		assertEquals("test@mail.com", userDetails.getUsername());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void loadUserByUsernameReturnsEveryRoleInOneStatement() {
+		transactionTemplate.executeWithoutResult(status -> {
+			Role admin = new Role("ROLE_ADMIN");
+			Role user = new Role("ROLE_USER");
+			entityManager.persist(admin);
+			entityManager.persist(user);
+
+			User multiRole = new User("roles@mail.com", "password123");
+			multiRole.getRoles().add(admin);
+			multiRole.getRoles().add(user);
+			entityManager.persist(multiRole);
+		});
+		statistics.clear();
+
+		UserDetails userDetails = databaseUserDetailsService.loadUserByUsername("roles@mail.com");
+
+		assertEquals("roles@mail.com", userDetails.getUsername());
+		assertEquals(Set.of("ROLE_ADMIN", "ROLE_USER"), userDetails.getAuthorities().stream()
+				.map(GrantedAuthority::getAuthority)
+				.collect(Collectors.toSet()));
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void findPrincipalRowsByUsernameReturnsOneRowForUserWithoutRoles() {
+		List<PrincipalRow> rows = userRepository.findPrincipalRowsByUsername("test@mail.com");
+
+		assertEquals(1, rows.size());
+		assertEquals("test@mail.com", rows.get(0).username());
+		assertNull(rows.get(0).roleName());
+		assertTrue(userRepository.findPrincipalRowsByUsername("nobody@mail.com").isEmpty());
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+
+}
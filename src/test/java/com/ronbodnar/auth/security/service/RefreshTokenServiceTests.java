@@ -0,0 +1,90 @@
+package com.ronbodnar.auth.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import com.ronbodnar.auth.security.audit.AuthEventLog;
+import com.ronbodnar.auth.security.audit.AuthEventType;
+import com.ronbodnar.auth.security.service.RefreshTokenService.RotatedToken;
+
+class RefreshTokenServiceTests {
+
+	private final AuthEventLog authEventLog = mock(AuthEventLog.class);
+	private final RefreshTokenService service = new RefreshTokenService(authEventLog, Duration.ofDays(7));
+
+	@Test
+	void rotatesTokenIntoNewTokenForSameUser() {
+		String token = service.issue("alice");
+
+		RotatedToken rotated = service.rotate(token, null);
+
+		assertNotNull(rotated);
+		assertEquals("alice", rotated.username());
+		assertNotEquals(token, rotated.token());
+		assertNotNull(service.rotate(rotated.token(), null));
+	}
+
+	@Test
+	void reusedTokenRevokesWholeFamily() {
+		String first = service.issue("alice");
+		String second = service.rotate(first, null).token();
+		String third = service.rotate(second, null).token();
+
+		assertNull(service.rotate(first, null));
+		verify(authEventLog).record(eq(AuthEventType.REFRESH_TOKEN_REUSED), eq("alice"), any(), anyString());
+
+		// Every token of the family is now rejected, including the newest one
+		assertNull(service.rotate(third, null));
+		assertNull(service.rotate(second, null));
+	}
+
+	@Test
+	void reuseLeavesOtherFamiliesOfSameUserAlone() {
+		String stolen = service.issue("alice");
+		String otherDevice = service.issue("alice");
+		service.rotate(stolen, null);
+
+		assertNull(service.rotate(stolen, null));
+
+		RotatedToken rotated = service.rotate(otherDevice, null);
+		assertNotNull(rotated);
+		assertEquals("alice", rotated.username());
+	}
+
+	@Test
+	void logoutRevokesFamily() {
+		String first = service.issue("alice");
+		String second = service.rotate(first, null).token();
+
+		service.revoke(second);
+
+		assertNull(service.rotate(second, null));
+		assertNull(service.rotate(first, null));
+		verify(authEventLog, never()).record(eq(AuthEventType.REFRESH_TOKEN_REUSED), any(), any(), any());
+	}
+
+	@Test
+	void rejectsUnknownMissingAndExpiredTokens() {
+		RefreshTokenService expiring = new RefreshTokenService(authEventLog, Duration.ZERO);
+		String expired = expiring.issue("alice");
+
+		assertNull(service.rotate(null, null));
+		assertNull(service.rotate("", null));
+		assertNull(service.rotate("not-a-refresh-token", null));
+		assertNull(expiring.rotate(expired, null));
+		verify(authEventLog, never()).record(any(), any(), any(), any());
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.ronbodnar.auth.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.ronbodnar.auth.security.model.UserPrincipal;
+
+class ServiceTokenRegistryTests {
+
+	private static final String BEARER_PREFIX = "Bearer ";
+
+	private final DatabaseUserDetailsService databaseUserDetailsService = mock(DatabaseUserDetailsService.class);
+
+	private final ServiceTokenRegistry registry = new ServiceTokenRegistry("", "test@mail.com",
+			List.of("gateway:gateway-secret-token", "billing:billing-secret-token"), databaseUserDetailsService);
+
+	@Test
+	void resolvesEachServiceTokenToItsPrincipal() {
+		UserDetails gateway = resolve("gateway-secret-token");
+		UserDetails billing = resolve("billing-secret-token");
+
+		assertNotNull(gateway);
+		assertEquals("gateway", gateway.getUsername());
+		assertEquals(List.of("ROLE_SERVICE"), authorities(gateway));
+		assertNotNull(billing);
+		assertEquals("billing", billing.getUsername());
+	}
+
+	@Test
+	void readsTokenAfterTheOffset() {
+		assertEquals("gateway", registry.resolve("Token gateway-secret-token", "Token ".length()).getUsername());
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {
+			"",
+			"unknown-token",
+			"gateway",
+			"gateway-secret",
+			"gateway-secret-toke",
+			"gateway-secret-token ",
+			"gateway-secret-tokenX",
+			" gateway-secret-token",
+			"GATEWAY-SECRET-TOKEN",
+			"gateway:gateway-secret-token" })
+	void rejectsUnknownAndPrefixTokens(String token) {
+		assertNull(resolve(token));
+	}
+
+	@Test
+	void skipsMalformedServiceTokenEntries() {
+		ServiceTokenRegistry malformed = new ServiceTokenRegistry("", "test@mail.com",
+				List.of("no-separator", ":nameless-token", "tokenless:"), databaseUserDetailsService);
+
+		assertNull(malformed.resolve(BEARER_PREFIX + "no-separator", BEARER_PREFIX.length()));
+		assertNull(malformed.resolve(BEARER_PREFIX + "nameless-token", BEARER_PREFIX.length()));
+		assertNull(malformed.resolve(BEARER_PREFIX, BEARER_PREFIX.length()));
+	}
+
+	@Test
+	void resolvesLegacyTokenOnlyOnceItsUserIsLoaded() {
+		UserPrincipal user = new UserPrincipal(1, "test@mail.com", "test@mail.com", null,
+				List.of(new SimpleGrantedAuthority("ROLE_USER")));
+		when(databaseUserDetailsService.loadUserByUsername("test@mail.com")).thenReturn(user);
+		ServiceTokenRegistry withLegacy = new ServiceTokenRegistry("legacy-token", "test@mail.com",
+				List.of("gateway:gateway-secret-token"), databaseUserDetailsService);
+
+		assertNull(withLegacy.resolve(BEARER_PREFIX + "legacy-token", BEARER_PREFIX.length()));
+
+		withLegacy.resolveLegacyToken();
+
+		assertSame(user, withLegacy.resolve(BEARER_PREFIX + "legacy-token", BEARER_PREFIX.length()));
+		assertNull(withLegacy.resolve(BEARER_PREFIX + "legacy-toke", BEARER_PREFIX.length()));
+		assertEquals("gateway",
+				withLegacy.resolve(BEARER_PREFIX + "gateway-secret-token", BEARER_PREFIX.length()).getUsername());
+	}
+
+	@Test
+	void leavesLegacyTokenDisabledWhenItsUserIsMissing() {
+		when(databaseUserDetailsService.loadUserByUsername("missing@mail.com"))
+				.thenThrow(new UsernameNotFoundException("missing"));
+		ServiceTokenRegistry withLegacy = new ServiceTokenRegistry("legacy-token", "missing@mail.com", List.of(),
+				databaseUserDetailsService);
+
+		withLegacy.resolveLegacyToken();
+
+		assertNull(withLegacy.resolve(BEARER_PREFIX + "legacy-token", BEARER_PREFIX.length()));
+	}
+
+	private UserDetails resolve(String token) {
+		return registry.resolve(BEARER_PREFIX + token, BEARER_PREFIX.length());
+	}
+
+	private static List<String> authorities(UserDetails userDetails) {
+		return userDetails.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+	}
+
+}
@@ -0,0 +1,157 @@
+package com.ronbodnar.auth.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.InputStream;
+import java.security.Key;
+import java.security.KeyStore;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+
+class SigningKeyRingTests {
+
+	private static final char[] PASSWORD = "changeit".toCharArray();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void ringsLoadedFromTheSameKeyStoreVerifyEachOthersTokens() throws Exception {
+		SigningKeyRing node1 = SigningKeyRing.fromKeyStore(keyStore(), PASSWORD, "k1", SignatureAlgorithm.ES256);
+		SigningKeyRing node2 = SigningKeyRing.fromKeyStore(keyStore(), PASSWORD, "k1", SignatureAlgorithm.ES256);
+
+		assertEquals("k1", node1.current().id());
+		assertEquals(node1.jwksEtag(), node2.jwksEtag());
+		assertEquals("from-node1", parse(node2, sign(node1.current(), "from-node1")).getSubject());
+		assertEquals("from-node2", parse(node1, sign(node2.current(), "from-node2")).getSubject());
+	}
+
+	@Test
+	void previousKeyStillVerifiesAfterTheSigningAliasChanges() throws Exception {
+		SigningKeyRing ring = SigningKeyRing.fromKeyStore(keyStore(), PASSWORD, "k1", SignatureAlgorithm.ES256);
+		String token = sign(ring.current(), "before-rotation");
+
+		SigningKeyRing rotated = SigningKeyRing.fromKeyStore(keyStore(), PASSWORD, "k2", SignatureAlgorithm.ES256);
+
+		assertEquals("k2", rotated.current().id());
+		assertEquals(ring.jwksEtag(), rotated.jwksEtag());
+		assertEquals("before-rotation", parse(rotated, token).getSubject());
+		assertEquals("after-rotation", parse(ring, sign(rotated.current(), "after-rotation")).getSubject());
+	}
+
+	@Test
+	void keyRemovedFromTheKeyStoreNoLongerVerifies() throws Exception {
+		SigningKeyRing ring = SigningKeyRing.fromKeyStore(keyStore(), PASSWORD, "k1", SignatureAlgorithm.ES256);
+		String token = sign(ring.current(), "old");
+
+		KeyStore keyStore = keyStore();
+		keyStore.deleteEntry("k1");
+		SigningKeyRing reloaded = SigningKeyRing.fromKeyStore(keyStore, PASSWORD, "k2", SignatureAlgorithm.ES256);
+
+		assertThrows(JwtException.class, () -> parse(reloaded, token));
+		assertThrows(JwtException.class, () -> reloaded.resolve("k1", "ES256"));
+		assertEquals(Set.of("k2"), kids(reloaded));
+		assertNotEquals(ring.jwksEtag(), reloaded.jwksEtag());
+	}
+
+	@Test
+	void jwksPublishesEveryKeyOfTheAlgorithm() throws Exception {
+		SigningKeyRing ring = SigningKeyRing.fromKeyStore(keyStore(), PASSWORD, "k1", SignatureAlgorithm.ES256);
+
+		assertEquals(Set.of("k1", "k2"), kids(ring));
+		for (JsonNode key : objectMapper.readTree(ring.jwksJson()).get("keys")) {
+			assertEquals("EC", key.get("kty").asText());
+			assertEquals("P-256", key.get("crv").asText());
+			assertEquals("ES256", key.get("alg").asText());
+			assertEquals(32, Base64.getUrlDecoder().decode(key.get("x").asText()).length);
+			assertEquals(32, Base64.getUrlDecoder().decode(key.get("y").asText()).length);
+		}
+
+		SigningKeyRing rsa = SigningKeyRing.fromKeyStore(keyStore(), PASSWORD, "rsa", SignatureAlgorithm.RS256);
+		assertEquals(Set.of("rsa"), kids(rsa));
+		assertEquals("signed", parse(rsa, sign(rsa.current(), "signed")).getSubject());
+	}
+
+	@Test
+	void signingAliasMustExistAndFitTheAlgorithm() {
+		assertThrows(IllegalStateException.class,
+				() -> SigningKeyRing.fromKeyStore(keyStore(), PASSWORD, "missing", SignatureAlgorithm.ES256));
+		assertThrows(IllegalStateException.class,
+				() -> SigningKeyRing.fromKeyStore(keyStore(), PASSWORD, "rsa", SignatureAlgorithm.ES256));
+		assertThrows(IllegalStateException.class,
+				() -> SigningKeyRing.fromKeyStore(keyStore(), PASSWORD, "k1", SignatureAlgorithm.ES384));
+		assertThrows(IllegalArgumentException.class,
+				() -> SigningKeyRing.fromKeyStore(keyStore(), PASSWORD, "k1", SignatureAlgorithm.HS256));
+	}
+
+	@Test
+	void resolveRejectsUnknownKeyIdAndMismatchedAlgorithm() throws Exception {
+		SigningKeyRing ring = SigningKeyRing.fromKeyStore(keyStore(), PASSWORD, "k1", SignatureAlgorithm.ES256);
+
+		assertSame(ring.current().verificationKey(), ring.resolve("k1", "ES256"));
+		assertThrows(JwtException.class, () -> ring.resolve("unknown", "ES256"));
+		assertThrows(JwtException.class, () -> ring.resolve(null, "ES256"));
+		assertThrows(JwtException.class, () -> ring.resolve("k1", "HS256"));
+	}
+
+	@Test
+	void hmacRingDoesNotPublishItsSecret() throws Exception {
+		SigningKeyRing ring = SigningKeyRing.ofSecret(Base64.getEncoder().encodeToString(new byte[32]));
+
+		assertTrue(kids(ring).isEmpty());
+	}
+
+	private static KeyStore keyStore() throws Exception {
+		KeyStore keyStore = KeyStore.getInstance("PKCS12");
+		try (InputStream in = SigningKeyRingTests.class.getResourceAsStream("/jwt-keys.p12")) {
+			keyStore.load(in, PASSWORD);
+		}
+		return keyStore;
+	}
+
+	private Set<String> kids(SigningKeyRing ring) throws Exception {
+		Set<String> kids = new HashSet<>();
+		for (JsonNode key : objectMapper.readTree(ring.jwksJson()).get("keys")) {
+			kids.add(key.get("kid").asText());
+		}
+		return kids;
+	}
+
+	private static String sign(SigningKeyRing.SigningKey key, String subject) {
+		return Jwts.builder()
+				.setHeaderParam(JwsHeader.KEY_ID, key.id())
+				.setSubject(subject)
+				.signWith(key.signingKey(), key.algorithm())
+				.compact();
+	}
+
+	private static Claims parse(SigningKeyRing ring, String token) {
+		return Jwts.parserBuilder()
+				.setSigningKeyResolver(new SigningKeyResolverAdapter() {
+					@Override
+					public Key resolveSigningKey(JwsHeader header, Claims claims) {
+						return ring.resolve(header.getKeyId(), header.getAlgorithm());
+					}
+				})
+				.build()
+				.parseClaimsJws(token)
+				.getBody();
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.ronbodnar.auth.security.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+class TokenRevocationServiceTests {
+
+	private final TokenRevocationService service = new TokenRevocationService(1_000, 0.01);
+
+	@Test
+	void reportsRevokedTokensOnly() {
+		Instant expiresAt = Instant.now().plus(Duration.ofMinutes(15));
+		service.revoke("revoked", expiresAt);
+
+		assertTrue(service.isRevoked("revoked"));
+		assertFalse(service.isRevoked("live"));
+		assertFalse(service.isRevoked(null));
+	}
+
+	@Test
+	void ignoresTokensThatAlreadyExpired() {
+		service.revoke("expired", Instant.now().minusSeconds(1));
+
+		assertFalse(service.isRevoked("expired"));
+	}
+
+	@Test
+	void keepsEveryRevocationAcrossCompaction() {
+		Instant expiresAt = Instant.now().plus(Duration.ofMinutes(15));
+		List<String> ids = new ArrayList<>();
+		// More than the filter was sized for, so compaction has to grow it.
+		for (int i = 0; i < 5_000; i++) {
+			String id = UUID.randomUUID().toString();
+			ids.add(id);
+			service.revoke(id, expiresAt);
+		}
+
+		service.compact();
+
+		for (String id : ids) {
+			assertTrue(service.isRevoked(id), id);
+		}
+	}
+
+	@Test
+	void keepsRevocationsMadeDuringCompaction() throws InterruptedException {
+		Instant expiresAt = Instant.now().plus(Duration.ofMinutes(15));
+		for (int i = 0; i < 20_000; i++) {
+			service.revoke("before-" + i, expiresAt);
+		}
+
+		AtomicBoolean done = new AtomicBoolean();
+		Thread compactor = new Thread(() -> {
+			while (!done.get()) {
+				service.compact();
+			}
+		});
+		compactor.start();
+
+		List<String> ids = new ArrayList<>();
+		try {
+			for (int i = 0; i < 20_000; i++) {
+				String id = "during-" + i;
+				ids.add(id);
+				service.revoke(id, expiresAt);
+				assertTrue(service.isRevoked(id), id);
+			}
+		} finally {
+			done.set(true);
+			compactor.join();
+		}
+
+		for (String id : ids) {
+			assertTrue(service.isRevoked(id), id);
+		}
+	}
+
+}
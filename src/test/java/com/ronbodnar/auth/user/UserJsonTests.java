@@ -0,0 +1,34 @@
+package com.ronbodnar.auth.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class UserJsonTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void serializationOmitsPasswordHash() throws Exception {
+		User user = new User("test@mail.com", "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3WkqJHQn6ggkZ0o9Q2s.Kby");
+
+		JsonNode json = objectMapper.readTree(objectMapper.writeValueAsString(user));
+
+		assertFalse(json.has("password"));
+		assertFalse(json.has("roles"));
+		assertEquals("test@mail.com", json.get("email").asText());
+	}
+
+	@Test
+	void deserializationStillAcceptsPassword() throws Exception {
+		User user = objectMapper.readValue("{\"email\":\"test@mail.com\",\"username\":\"test\",\"password\":\"secret123\"}",
+				User.class);
+
+		assertEquals("secret123", user.getPassword());
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.ronbodnar.auth.user;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.ronbodnar.auth.exception.UserAlreadyExistsException;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest(properties = {
+		"com.ronbodnar.auth.security.password.bcrypt-strength=4",
+		"spring.jpa.properties.hibernate.generate_statistics=true" })
+class UserServiceTests {
+
+	private static final int THREADS = 16;
+
+	@Autowired
+	private UserService userService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void signupTakesOneStatementWhetherItSucceedsOrNot() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+		statistics.clear();
+		userService.addUser(new User("single@mail.com", "password123"));
+		assertEquals(1, statistics.getPrepareStatementCount());
+
+		statistics.clear();
+		assertThrows(UserAlreadyExistsException.class,
+				() -> userService.addUser(new User("single@mail.com", "password123")));
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void concurrentSignupsWithSameEmailCreateOneUser() throws Exception {
+		int created = 0;
+		int rejected = 0;
+		for (Future<Boolean> result : signUpConcurrently("race@mail.com")) {
+			if (result.get()) {
+				created++;
+			} else {
+				rejected++;
+			}
+		}
+
+		assertEquals(1, created);
+		assertEquals(THREADS - 1, rejected);
+		assertTrue(userRepository.findByUsername("race@mail.com").isPresent());
+	}
+
+	@Test
+	void concurrentSignupsWithDistinctEmailsAllSucceed() throws Exception {
+		List<String> emails = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			emails.add("user" + i + "@mail.com");
+		}
+
+		for (Future<Boolean> result : signUpConcurrently(emails.toArray(String[]::new))) {
+			assertTrue(result.get());
+		}
+		for (String email : emails) {
+			assertTrue(userRepository.findByUsername(email).isPresent());
+		}
+	}
+
+	/**
+	 * Signs up THREADS users at once, cycling through the given emails.
+	 * Each result is true if the signup succeeded and false if it was rejected
+	 * as a duplicate.
+	 */
+	private List<Future<Boolean>> signUpConcurrently(String... emails) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> results = new ArrayList<>();
+
+		for (int i = 0; i < THREADS; i++) {
+			String email = emails[i % emails.length];
+			results.add(executor.submit(() -> {
+				start.await();
+				try {
+					userService.addUser(new User(email, "password123"));
+					return true;
+				} catch (UserAlreadyExistsException e) {
+					return false;
+				}
+			}));
+		}
+
+		start.countDown();
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+		return results;
+	}
+
+}